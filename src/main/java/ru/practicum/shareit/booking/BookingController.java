@@ -1,8 +1,10 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -16,7 +18,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingBatchDecisionDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 
@@ -28,6 +32,9 @@ import java.util.stream.Collectors;
 @RequestMapping(path = "/bookings")
 @Validated
 public class BookingController {
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    static final int MAX_BATCH_SIZE = 1000;
+
     private final BookingService bookingService;
 
     @Autowired
@@ -44,6 +51,17 @@ public class BookingController {
         return ResponseEntity.ok(BookingMapper.toResponseDto(booking));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookingResponseDto>> createBookings(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid BookingCreateDto> bookingDtos,
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Creating {} bookings for user {}", bookingDtos.size(), userId);
+        List<Booking> bookings = bookingService.createBookings(bookingDtos, userId);
+        return ResponseEntity.ok(bookings.stream()
+                .map(BookingMapper::toResponseDto)
+                .collect(Collectors.toList()));
+    }
+
     @PatchMapping("/{bookingId}")
     public ResponseEntity<BookingResponseDto> approveBooking(
             @PathVariable Long bookingId,
@@ -54,6 +72,14 @@ public class BookingController {
         return ResponseEntity.ok(BookingMapper.toResponseDto(booking));
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<List<BookingDecisionResultDto>> decideBookings(
+            @Valid @RequestBody BookingBatchDecisionDto batch,
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Deciding {} bookings by user {}", batch.getDecisions().size(), userId);
+        return ResponseEntity.ok(bookingService.decideBookings(userId, batch.getDecisions()));
+    }
+
     @PatchMapping("/{bookingId}/cancel")
     public ResponseEntity<BookingResponseDto> cancelBooking(
             @PathVariable Long bookingId,
@@ -77,12 +103,12 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-            @RequestParam(defaultValue = "10") @Positive int size) {
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(required = false) String cursor) {
         log.info("Getting bookings for user {} with state {}", userId, state);
-        List<Booking> bookings = bookingService.getUserBookings(userId, state, from, size);
-        return ResponseEntity.ok(bookings.stream()
-                .map(BookingMapper::toResponseDto)
-                .collect(Collectors.toList()));
+        BookingCursor position = cursor != null ? BookingCursor.decode(cursor) : null;
+        List<Booking> bookings = bookingService.getUserBookings(userId, state, from, size, position);
+        return toTimelineResponse(bookings, size);
     }
 
     @GetMapping("/owner")
@@ -90,10 +116,20 @@ public class BookingController {
             @RequestHeader("X-Sharer-User-Id") Long userId,
             @RequestParam(defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-            @RequestParam(defaultValue = "10") @Positive int size) {
+            @RequestParam(defaultValue = "10") @Positive int size,
+            @RequestParam(required = false) String cursor) {
         log.info("Getting owner bookings for user {} with state {}", userId, state);
-        List<Booking> bookings = bookingService.getOwnerBookings(userId, state, from, size);
-        return ResponseEntity.ok(bookings.stream()
+        BookingCursor position = cursor != null ? BookingCursor.decode(cursor) : null;
+        List<Booking> bookings = bookingService.getOwnerBookings(userId, state, from, size, position);
+        return toTimelineResponse(bookings, size);
+    }
+
+    private ResponseEntity<List<BookingResponseDto>> toTimelineResponse(List<Booking> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            response.header(NEXT_CURSOR_HEADER, BookingCursor.after(bookings.get(bookings.size() - 1)).encode());
+        }
+        return response.body(bookings.stream()
                 .map(BookingMapper::toResponseDto)
                 .collect(Collectors.toList()));
     }
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booking periods of a single item kept in an AVL tree ordered by start, where every node also
+ * stores the latest end in its subtree. An overlap lookup only descends into subtrees that can
+ * still contain an overlapping period, so it costs O(log n) for the usual case of disjoint bookings.
+ * Periods are half-open: a booking ending at 12:00 does not overlap one starting at 12:00.
+ * Not thread-safe.
+ */
+class BookingIntervalTree {
+    private Node root;
+
+    private static final class Node {
+        final long id;
+        final LocalDateTime start;
+        final LocalDateTime end;
+        LocalDateTime maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(long id, LocalDateTime start, LocalDateTime end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    public void add(long id, LocalDateTime start, LocalDateTime end) {
+        root = insert(root, new Node(id, start, end));
+    }
+
+    /**
+     * Returns the id of a stored period overlapping {@code [start, end)} other than {@code excludeId},
+     * or {@code null} when there is none.
+     */
+    public Long findOverlap(LocalDateTime start, LocalDateTime end, long excludeId) {
+        return findOverlap(root, start, end, excludeId);
+    }
+
+    private Long findOverlap(Node node, LocalDateTime start, LocalDateTime end, long excludeId) {
+        while (node != null) {
+            if (!node.maxEnd.isAfter(start)) {
+                return null;
+            }
+            if (node.id != excludeId && node.start.isBefore(end) && node.end.isAfter(start)) {
+                return node.id;
+            }
+            if (node.left != null && node.left.maxEnd.isAfter(start)) {
+                Long found = findOverlap(node.left, start, end, excludeId);
+                if (found != null) {
+                    return found;
+                }
+            }
+            // Everything to the right starts no earlier than this node
+            if (!node.start.isBefore(end)) {
+                return null;
+            }
+            node = node.right;
+        }
+        return null;
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        int cmp = compare(added.start, added.id, node);
+        if (cmp < 0) {
+            node.left = insert(node.left, added);
+        } else if (cmp > 0) {
+            node.right = insert(node.right, added);
+        } else {
+            return node;
+        }
+        return balance(node);
+    }
+
+    private static int compare(LocalDateTime start, long id, Node node) {
+        int cmp = start.compareTo(node.start);
+        return cmp != 0 ? cmp : Long.compare(id, node.id);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        LocalDateTime maxEnd = node.end;
+        if (node.left != null && node.left.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.isAfter(maxEnd)) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+}
@@ -1,79 +1,155 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.BookingPeriodDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.booker.id = :bookerId " +
-            "AND b.start <= :currentTime " +
-            "AND b.end >= :currentTime " +
-            "ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsByBooker(Long bookerId, LocalDateTime currentTime, Pageable pageable);
-
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId " +
-            "ORDER BY b.start DESC")
-    List<Booking> findByItemOwnerIdOrderByStartDesc(Long ownerId, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId " +
-            "AND b.start <= :currentTime " +
-            "AND b.end >= :currentTime " +
-            "ORDER BY b.start DESC")
-    List<Booking> findCurrentBookingsByOwner(Long ownerId, LocalDateTime currentTime, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId " +
-            "AND b.end < :end " +
-            "ORDER BY b.start DESC")
-    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime end, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId " +
-            "AND b.start > :start " +
-            "ORDER BY b.start DESC")
-    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime start, Pageable pageable);
-
-    @Query("SELECT b FROM Booking b " +
-            "WHERE b.item.owner.id = :ownerId " +
+    // Booking timelines, newest first. Keyset pages continue after the (cursorStart, cursorId) position of
+    // the previous page's last booking, a null cursor reads from the newest booking (first or OFFSET page)
+    String TIMELINE = "SELECT b FROM Booking b JOIN FETCH b.item JOIN FETCH b.booker ";
+    String BOOKER_TIMELINE = TIMELINE + "WHERE b.booker.id = :bookerId ";
+    String OWNER_TIMELINE = TIMELINE + "WHERE b.owner.id = :ownerId ";
+    String CURRENT = "AND b.start <= :currentTime AND b.end >= :currentTime ";
+    String AFTER_CURSOR = "AND (:cursorStart IS NULL OR b.start < :cursorStart " +
+            "OR (b.start = :cursorStart AND b.id < :cursorId)) ";
+    String NEWEST_FIRST = "ORDER BY b.start DESC, b.id DESC";
+
+    @Query(BOOKER_TIMELINE + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByBookerIdOrderByStartDesc(
+            Long bookerId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(BOOKER_TIMELINE + CURRENT + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findCurrentBookingsByBooker(
+            Long bookerId, LocalDateTime currentTime, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(BOOKER_TIMELINE + "AND b.end < :end " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(
+            Long bookerId, LocalDateTime end, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(BOOKER_TIMELINE + "AND b.start > :start " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(
+            Long bookerId, LocalDateTime start, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(BOOKER_TIMELINE + "AND b.status = :status " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByBookerIdAndStatusOrderByStartDesc(
+            Long bookerId, BookingStatus status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(OWNER_TIMELINE + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByItemOwnerIdOrderByStartDesc(
+            Long ownerId, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(OWNER_TIMELINE + CURRENT + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findCurrentBookingsByOwner(
+            Long ownerId, LocalDateTime currentTime, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(OWNER_TIMELINE + "AND b.end < :end " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByItemOwnerIdAndEndBeforeOrderByStartDesc(
+            Long ownerId, LocalDateTime end, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(OWNER_TIMELINE + "AND b.start > :start " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByItemOwnerIdAndStartAfterOrderByStartDesc(
+            Long ownerId, LocalDateTime start, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(OWNER_TIMELINE + "AND b.status = :status " + AFTER_CURSOR + NEWEST_FIRST)
+    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(
+            Long ownerId, BookingStatus status, LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    // One row per item: the latest start before now, the highest id among bookings sharing that start
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingShortDto(r.id, r.itemId, r.bookerId, r.start) " +
+            "FROM (" +
+            "SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item.id ORDER BY b.start DESC, b.id DESC) AS rn " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
             "AND b.status = :status " +
-            "ORDER BY b.start DESC")
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status, Pageable pageable);
-
-    Optional<Booking> findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(
-            Long itemId, LocalDateTime now, BookingStatus status);
-
-    Optional<Booking> findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
-            Long itemId, LocalDateTime now, BookingStatus status);
-
-    @Query("SELECT b FROM Booking b " +
+            "AND b.start < :now) r " +
+            "WHERE r.rn = 1")
+    List<BookingShortDto> findLastBookingsForItems(Collection<Long> itemIds, LocalDateTime now, BookingStatus status);
+
+    // One row per item: the earliest start after now, the lowest id among bookings sharing that start
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingShortDto(r.id, r.itemId, r.bookerId, r.start) " +
+            "FROM (" +
+            "SELECT b.id AS id, b.item.id AS itemId, b.booker.id AS bookerId, b.start AS start, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item.id ORDER BY b.start, b.id) AS rn " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status = :status " +
+            "AND b.start > :now) r " +
+            "WHERE r.rn = 1")
+    List<BookingShortDto> findNextBookingsForItems(Collection<Long> itemIds, LocalDateTime now, BookingStatus status);
+
+    // Periods are half-open, [start, end), so back-to-back bookings do not overlap
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status IN :statuses " +
+            "AND b.start < :end " +
+            "AND b.end > :start " +
+            "AND b.id <> :excludeId")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end,
+                              Collection<BookingStatus> statuses, Long excludeId);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingPeriodDto(b.id, b.item.id, b.start, b.end) " +
+            "FROM Booking b " +
+            "WHERE b.item.id IN :itemIds " +
+            "AND b.status IN :statuses " +
+            "AND b.end > :after")
+    List<BookingPeriodDto> findBookingsOfItemsEndingAfter(Collection<Long> itemIds, LocalDateTime after,
+                                                          Collection<BookingStatus> statuses);
+
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "AND b.item.id = :itemId " +
             "AND b.end < :now " +
             "AND b.status = :status")
-    List<Booking> findCompletedBookingsByBookerAndItem(
+    boolean existsCompletedBookingByBookerAndItem(
             Long bookerId, Long itemId, LocalDateTime now, BookingStatus status);
 
-    @Query("SELECT b FROM Booking b " +
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findWithItemAndBookerById(Long id);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    List<Booking> findWithItemAndBookerByIdIn(Collection<Long> ids);
+
+    // Status transitions: a single conditional UPDATE each, 0 rows means the preconditions did not hold
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+            "WHERE b.id IN :bookingIds " +
+            "AND b.status = 'WAITING' " +
+            "AND b.owner.id = :ownerId")
+    int updateWaitingStatusByOwner(Collection<Long> bookingIds, Long ownerId, BookingStatus status);
+
+    // Approval also requires that no other APPROVED booking of the item overlaps this one. The condition
+    // is checked against the state before the statement, callers must not pass overlapping bookings together
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'APPROVED', b.version = b.version + 1 " +
+            "WHERE b.id IN :bookingIds " +
+            "AND b.status = 'WAITING' " +
+            "AND b.owner.id = :ownerId " +
+            "AND NOT EXISTS (SELECT o.id FROM Booking o " +
+            "WHERE o.item.id = b.item.id " +
+            "AND o.id <> b.id " +
+            "AND o.status = 'APPROVED' " +
+            "AND o.start < b.end " +
+            "AND o.end > b.start)")
+    int approveWaitingByOwner(Collection<Long> bookingIds, Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = 'CANCELED', b.version = b.version + 1 " +
             "WHERE b.id = :bookingId " +
-            "AND b.booker.id = :userId " +
-            "AND b.status = 'WAITING'")
-    Optional<Booking> findWaitingBookingByIdAndBooker(Long bookingId, Long userId);
+            "AND b.status = 'WAITING' " +
+            "AND b.booker.id = :bookerId")
+    int cancelWaitingByBooker(Long bookingId, Long bookerId);
 }
\ No newline at end of file
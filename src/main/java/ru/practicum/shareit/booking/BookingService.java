@@ -2,12 +2,18 @@ package ru.practicum.shareit.booking;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto.Outcome;
+import ru.practicum.shareit.common.OffsetPageRequest;
+import ru.practicum.shareit.common.jfr.BookingLifecycleEvent;
+import ru.practicum.shareit.exception.BookingConflictException;
 import ru.practicum.shareit.exception.BookingNotFoundException;
 import ru.practicum.shareit.exception.ItemAccessDeniedException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
@@ -18,12 +24,24 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @Transactional(readOnly = true)
 public class BookingService {
+    // Postgres exclusion constraint backing the overlap check (V5 migration)
+    static final String OVERLAP_CONSTRAINT = "bookings_no_overlap";
+
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemService itemService;
@@ -37,22 +55,85 @@ public class BookingService {
 
     @Transactional
     public Booking createBooking(BookingCreateDto bookingDto, Long bookerId) {
+        BookingLifecycleEvent event = BookingLifecycleEvent.start("create", bookerId, null, bookingDto.getItemId());
+        try {
+            return event.finished(insertBooking(bookingDto, bookerId));
+        } catch (RuntimeException e) {
+            throw event.failed(e);
+        }
+    }
+
+    private Booking insertBooking(BookingCreateDto bookingDto, Long bookerId) {
         User booker = userService.getUserById(bookerId);
         Item item = itemService.getItemById(bookingDto.getItemId());
 
         validateBooking(bookingDto, bookerId, item);
 
+        // Concurrent bookings of the item wait here, so the check below sees every committed booking
+        itemService.lockItem(item.getId());
+        checkNoOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd(), BookingStatus.ACTIVE, 0L);
+
+        Booking savedBooking = saveAllChecked(List.of(newBooking(bookingDto, item, booker))).get(0);
+        log.info("Booking created with id: {} for user: {} and item: {}",
+                savedBooking.getId(), bookerId, item.getId());
+        return savedBooking;
+    }
+
+    /**
+     * Creates all bookings of one booker or none of them: every booking is validated like in
+     * {@link #createBooking}, must not overlap an existing booking or another booking of the batch,
+     * and the INSERTs are sent as JDBC batches.
+     */
+    @Transactional
+    public List<Booking> createBookings(List<BookingCreateDto> bookingDtos, Long bookerId) {
+        User booker = userService.getUserById(bookerId);
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingCreateDto::getItemId)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemService.lockItems(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        LocalDateTime earliestStart = bookingDtos.stream()
+                .map(BookingCreateDto::getStart)
+                .min(LocalDateTime::compareTo)
+                .orElseThrow();
+        Map<Long, BookingIntervalTree> periods = new HashMap<>();
+        bookingRepository.findBookingsOfItemsEndingAfter(itemIds, earliestStart, BookingStatus.ACTIVE)
+                .forEach(p -> periods.computeIfAbsent(p.getItemId(), id -> new BookingIntervalTree())
+                        .add(p.getId(), p.getStart(), p.getEnd()));
+
+        List<Booking> bookings = new ArrayList<>(bookingDtos.size());
+        for (BookingCreateDto bookingDto : bookingDtos) {
+            Item item = items.get(bookingDto.getItemId());
+            if (item == null) {
+                throw new ItemNotFoundException("Item not found with id: " + bookingDto.getItemId());
+            }
+            validateBooking(bookingDto, bookerId, item);
+
+            BookingIntervalTree itemPeriods = periods.computeIfAbsent(item.getId(), id -> new BookingIntervalTree());
+            if (itemPeriods.findOverlap(bookingDto.getStart(), bookingDto.getEnd(), 0L) != null) {
+                throw new BookingConflictException("Item " + item.getId() + " is already booked for the period "
+                        + bookingDto.getStart() + " - " + bookingDto.getEnd());
+            }
+            // Not saved yet, negative ids keep the batch's own bookings apart from stored ones
+            itemPeriods.add(-bookings.size() - 1, bookingDto.getStart(), bookingDto.getEnd());
+            bookings.add(newBooking(bookingDto, item, booker));
+        }
+
+        List<Booking> savedBookings = saveAllChecked(bookings);
+        log.info("{} bookings created for user {}", savedBookings.size(), bookerId);
+        return savedBookings;
+    }
+
+    private Booking newBooking(BookingCreateDto bookingDto, Item item, User booker) {
         Booking booking = new Booking();
         booking.setStart(bookingDto.getStart());
         booking.setEnd(bookingDto.getEnd());
         booking.setItem(item);
         booking.setBooker(booker);
+        booking.setOwner(item.getOwner());
         booking.setStatus(BookingStatus.WAITING);
-
-        Booking savedBooking = bookingRepository.save(booking);
-        log.info("Booking created with id: {} for user: {} and item: {}",
-                savedBooking.getId(), bookerId, item.getId());
-        return savedBooking;
+        return booking;
     }
 
     private void validateBooking(BookingCreateDto bookingDto, Long bookerId, Item item) {
@@ -76,94 +157,240 @@ public class BookingService {
 
     @Transactional
     public Booking approveBooking(Long bookingId, Long ownerId, boolean approved) {
-        Booking booking = bookingRepository.findById(bookingId)
-                .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + bookingId));
+        BookingLifecycleEvent event = BookingLifecycleEvent.start(approved ? "approve" : "reject", ownerId,
+                bookingId, null);
+        try {
+            return event.finished(decideBooking(bookingId, ownerId, approved));
+        } catch (RuntimeException e) {
+            throw event.failed(e);
+        }
+    }
 
-        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
-            throw new ItemAccessDeniedException("Only item owner can approve booking");
+    private Booking decideBooking(Long bookingId, Long ownerId, boolean approved) {
+        int updated;
+        if (approved) {
+            // Approvals of one item queue up here so the overlap condition sees every committed approval
+            itemService.lockItemOfBooking(bookingId);
+            updated = bookingRepository.approveWaitingByOwner(List.of(bookingId), ownerId);
+        } else {
+            updated = bookingRepository.updateWaitingStatusByOwner(List.of(bookingId), ownerId, BookingStatus.REJECTED);
         }
 
-        if (booking.getStatus() != BookingStatus.WAITING) {
-            throw new ValidationException("Booking already processed");
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + bookingId));
+
+        if (updated == 0) {
+            if (!booking.getOwner().getId().equals(ownerId)) {
+                throw new ItemAccessDeniedException("Only item owner can approve booking");
+            }
+            if (booking.getStatus() != BookingStatus.WAITING) {
+                throw new ValidationException("Booking already processed");
+            }
+            throw new BookingConflictException("Item is already booked for the requested period");
         }
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        Booking updatedBooking = bookingRepository.save(booking);
         log.info("Booking {} {} by owner {}", bookingId, approved ? "approved" : "rejected", ownerId);
-        return updatedBooking;
+        return booking;
+    }
+
+    /**
+     * Applies an owner's approve/reject decisions in one transaction with one UPDATE per decision kind
+     * and reports the outcome of every decision in request order.
+     */
+    @Transactional
+    public List<BookingDecisionResultDto> decideBookings(Long ownerId, List<BookingDecisionDto> decisions) {
+        Map<Long, Boolean> approvedById = new LinkedHashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (approvedById.put(decision.getBookingId(), decision.getApproved()) != null) {
+                throw new ValidationException("Duplicate booking id in batch: " + decision.getBookingId());
+            }
+        }
+
+        Map<Long, Booking> before = bookingRepository.findWithItemAndBookerByIdIn(approvedById.keySet()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        // One UPDATE checks overlaps against the state before it runs, so approvals overlapping
+        // an earlier approval of the same batch are refused here
+        List<Long> toApprove = new ArrayList<>();
+        List<Long> toReject = new ArrayList<>();
+        Set<Long> conflicting = new HashSet<>();
+        Map<Long, BookingIntervalTree> approvedPeriods = new HashMap<>();
+        approvedById.forEach((id, approved) -> {
+            Booking booking = before.get(id);
+            if (booking == null || !isDecidable(booking, ownerId)) {
+                return;
+            }
+            if (!approved) {
+                toReject.add(id);
+                return;
+            }
+            BookingIntervalTree periods = approvedPeriods.computeIfAbsent(
+                    booking.getItem().getId(), itemId -> new BookingIntervalTree());
+            if (periods.findOverlap(booking.getStart(), booking.getEnd(), id) != null) {
+                conflicting.add(id);
+                return;
+            }
+            periods.add(id, booking.getStart(), booking.getEnd());
+            toApprove.add(id);
+        });
+
+        if (!toApprove.isEmpty()) {
+            itemService.lockItems(approvedPeriods.keySet());
+            bookingRepository.approveWaitingByOwner(toApprove, ownerId);
+        }
+        if (!toReject.isEmpty()) {
+            bookingRepository.updateWaitingStatusByOwner(toReject, ownerId, BookingStatus.REJECTED);
+        }
+
+        Map<Long, Booking> after = bookingRepository.findWithItemAndBookerByIdIn(before.keySet()).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+
+        List<BookingDecisionResultDto> results = new ArrayList<>(approvedById.size());
+        approvedById.forEach((id, approved) ->
+                results.add(toDecisionResult(id, approved, before.get(id), after.get(id), ownerId, conflicting)));
+        log.info("Owner {} decided {} bookings: {} approved, {} rejected",
+                ownerId, decisions.size(), toApprove.size(), toReject.size());
+        return results;
+    }
+
+    private boolean isDecidable(Booking booking, Long ownerId) {
+        return booking.getStatus() == BookingStatus.WAITING
+                && booking.getOwner().getId().equals(ownerId);
+    }
+
+    private BookingDecisionResultDto toDecisionResult(Long id, boolean approved, Booking before, Booking after,
+                                                      Long ownerId, Set<Long> conflicting) {
+        if (before == null || after == null) {
+            return new BookingDecisionResultDto(id, Outcome.NOT_FOUND, null);
+        }
+        if (!before.getOwner().getId().equals(ownerId)) {
+            return new BookingDecisionResultDto(id, Outcome.FORBIDDEN, null);
+        }
+        BookingStatus decided = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        if (before.getStatus() == BookingStatus.WAITING && after.getStatus() == decided
+                && after.getVersion() > before.getVersion() && !conflicting.contains(id)) {
+            return new BookingDecisionResultDto(id, Outcome.APPLIED, after.getStatus());
+        }
+        if (after.getStatus() != BookingStatus.WAITING && !conflicting.contains(id)) {
+            return new BookingDecisionResultDto(id, Outcome.ALREADY_PROCESSED, after.getStatus());
+        }
+        return new BookingDecisionResultDto(id, Outcome.CONFLICT, after.getStatus());
     }
 
     @Transactional
     public Booking cancelBooking(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findWaitingBookingByIdAndBooker(bookingId, userId)
-                .orElseThrow(() -> new BookingNotFoundException(
-                        "Booking not found or cannot be canceled. Only waiting bookings can be canceled by booker."));
+        BookingLifecycleEvent event = BookingLifecycleEvent.start("cancel", userId, bookingId, null);
+        try {
+            return event.finished(cancelWaitingBooking(bookingId, userId));
+        } catch (RuntimeException e) {
+            throw event.failed(e);
+        }
+    }
+
+    private Booking cancelWaitingBooking(Long bookingId, Long userId) {
+        if (bookingRepository.cancelWaitingByBooker(bookingId, userId) == 0) {
+            throw new BookingNotFoundException(
+                    "Booking not found or cannot be canceled. Only waiting bookings can be canceled by booker.");
+        }
 
-        booking.setStatus(BookingStatus.CANCELED);
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
+                .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + bookingId));
         log.info("Booking {} canceled by user {}", bookingId, userId);
-        return updatedBooking;
+        return booking;
+    }
+
+    private void checkNoOverlap(Long itemId, LocalDateTime start, LocalDateTime end,
+                                Collection<BookingStatus> statuses, Long excludeId) {
+        if (bookingRepository.existsOverlapping(itemId, start, end, statuses, excludeId)) {
+            throw new BookingConflictException("Item is already booked for the requested period");
+        }
+    }
+
+    /**
+     * Flushes the bookings right away so that a violated exclusion constraint surfaces here as a
+     * conflict instead of failing the commit.
+     */
+    private List<Booking> saveAllChecked(List<Booking> bookings) {
+        List<Booking> saved;
+        try {
+            saved = bookingRepository.saveAllAndFlush(bookings);
+        } catch (DataIntegrityViolationException e) {
+            String message = e.getMostSpecificCause().getMessage();
+            if (message != null && message.contains(OVERLAP_CONSTRAINT)) {
+                throw new BookingConflictException("Item is already booked for the requested period");
+            }
+            throw e;
+        }
+        return saved;
     }
 
     public Booking getBookingById(Long bookingId, Long userId) {
-        Booking booking = bookingRepository.findById(bookingId)
+        Booking booking = bookingRepository.findWithItemAndBookerById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Booking not found with id: " + bookingId));
 
         if (!booking.getBooker().getId().equals(userId) &&
-                !booking.getItem().getOwner().getId().equals(userId)) {
+                !booking.getOwner().getId().equals(userId)) {
             throw new BookingNotFoundException("Booking not found for user: " + userId);
         }
 
         return booking;
     }
 
-    public List<Booking> getUserBookings(Long bookerId, String state, int from, int size) {
+    public List<Booking> getUserBookings(Long bookerId, String state, int from, int size, BookingCursor cursor) {
         userService.getUserById(bookerId);
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("start").descending());
+        Pageable pageable = cursor != null ? PageRequest.of(0, size) : new OffsetPageRequest(from, size);
+        LocalDateTime cursorStart = cursor != null ? cursor.getStart() : null;
+        Long cursorId = cursor != null ? cursor.getId() : null;
         LocalDateTime now = LocalDateTime.now();
+        String upperState = state.toUpperCase();
 
-        switch (state.toUpperCase()) {
+        switch (upperState) {
             case "ALL":
-                return bookingRepository.findByBookerIdOrderByStartDesc(bookerId, pageable);
+                return bookingRepository.findByBookerIdOrderByStartDesc(bookerId, cursorStart, cursorId, pageable);
             case "CURRENT":
-                return bookingRepository.findCurrentBookingsByBooker(bookerId, now, pageable);
+                return bookingRepository.findCurrentBookingsByBooker(bookerId, now, cursorStart, cursorId, pageable);
             case "PAST":
-                return bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(bookerId, now, pageable);
+                return bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
+                        bookerId, now, cursorStart, cursorId, pageable);
             case "FUTURE":
-                return bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(bookerId, now, pageable);
+                return bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
+                        bookerId, now, cursorStart, cursorId, pageable);
             case "WAITING":
-                return bookingRepository.findByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.WAITING, pageable);
             case "REJECTED":
-                return bookingRepository.findByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.REJECTED, pageable);
             case "CANCELED":
-                return bookingRepository.findByBookerIdAndStatusOrderByStartDesc(bookerId, BookingStatus.CANCELED, pageable);
+                return bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
+                        bookerId, BookingStatus.valueOf(upperState), cursorStart, cursorId, pageable);
             default:
                 throw new ValidationException("Unknown state: " + state);
         }
     }
 
-    public List<Booking> getOwnerBookings(Long ownerId, String state, int from, int size) {
+    public List<Booking> getOwnerBookings(Long ownerId, String state, int from, int size, BookingCursor cursor) {
         userService.getUserById(ownerId);
-        Pageable pageable = PageRequest.of(from / size, size, Sort.by("start").descending());
+        Pageable pageable = cursor != null ? PageRequest.of(0, size) : new OffsetPageRequest(from, size);
+        LocalDateTime cursorStart = cursor != null ? cursor.getStart() : null;
+        Long cursorId = cursor != null ? cursor.getId() : null;
         LocalDateTime now = LocalDateTime.now();
+        String upperState = state.toUpperCase();
 
-        switch (state.toUpperCase()) {
+        switch (upperState) {
             case "ALL":
-                return bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId, pageable);
+                return bookingRepository.findByItemOwnerIdOrderByStartDesc(ownerId, cursorStart, cursorId, pageable);
             case "CURRENT":
-                return bookingRepository.findCurrentBookingsByOwner(ownerId, now, pageable);
+                return bookingRepository.findCurrentBookingsByOwner(ownerId, now, cursorStart, cursorId, pageable);
             case "PAST":
-                return bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(ownerId, now, pageable);
+                return bookingRepository.findByItemOwnerIdAndEndBeforeOrderByStartDesc(
+                        ownerId, now, cursorStart, cursorId, pageable);
             case "FUTURE":
-                return bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(ownerId, now, pageable);
+                return bookingRepository.findByItemOwnerIdAndStartAfterOrderByStartDesc(
+                        ownerId, now, cursorStart, cursorId, pageable);
             case "WAITING":
-                return bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING, pageable);
             case "REJECTED":
-                return bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED, pageable);
             case "CANCELED":
-                return bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(ownerId, BookingStatus.CANCELED, pageable);
+                return bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(
+                        ownerId, BookingStatus.valueOf(upperState), cursorStart, cursorId, pageable);
             default:
                 throw new ValidationException("Unknown state: " + state);
         }
     }
-}
\ No newline at end of file
+}
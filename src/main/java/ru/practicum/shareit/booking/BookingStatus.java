@@ -1,8 +1,19 @@
 package ru.practicum.shareit.booking;
 
+import java.util.List;
+
 public enum BookingStatus {
     WAITING,
     APPROVED,
     REJECTED,
-    CANCELED
-}
\ No newline at end of file
+    CANCELED;
+
+    /**
+     * Statuses of bookings that hold their period, no other such booking of the item may overlap it.
+     */
+    public static final List<BookingStatus> ACTIVE = List.of(WAITING, APPROVED);
+
+    public boolean isActive() {
+        return ACTIVE.contains(this);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.List;
+
+/**
+ * Non-blocking variant of GET /bookings: no request thread or JDBC connection is held while the
+ * database works. Answers with a JSON array, or with {@code application/x-ndjson} one booking per line.
+ * The page (at most {@value #MAX_PAGE_SIZE} bookings) is read before the response starts, so a full page
+ * carries the same {@code X-Next-Cursor} header as the blocking endpoint.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = "/reactive/bookings")
+@Validated
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class ReactiveBookingController {
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final ReactiveBookingRepository bookingRepository;
+
+    public ReactiveBookingController(ReactiveBookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<BookingResponseDto>>> getUserBookings(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+            @RequestParam(defaultValue = "10") @Positive @Max(MAX_PAGE_SIZE) int size,
+            @RequestParam(required = false) String cursor) {
+        log.debug("Streaming bookings for user {} with state {}", userId, state);
+        if ((long) from + size > Integer.MAX_VALUE) {
+            throw new ValidationException("from + size must not exceed " + Integer.MAX_VALUE);
+        }
+        BookingCursor position = cursor != null ? BookingCursor.decode(cursor) : null;
+        return bookingRepository.findBookerBookings(userId, state, position, cursor != null ? 0 : from, size)
+                .collectList()
+                .map(bookings -> toTimelineResponse(bookings, size));
+    }
+
+    private ResponseEntity<Flux<BookingResponseDto>> toTimelineResponse(List<BookingResponseDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            BookingResponseDto last = bookings.get(bookings.size() - 1);
+            response.header(BookingController.NEXT_CURSOR_HEADER,
+                    new BookingCursor(last.getStart(), last.getId()).encode());
+        }
+        return response.body(Flux.fromIterable(bookings));
+    }
+}
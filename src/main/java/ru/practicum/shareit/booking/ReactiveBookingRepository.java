@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.common.r2dbc.ReactiveReadDatabase;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+/**
+ * The booker timelines of {@link BookingRepository} read through R2DBC, mapped straight to response DTOs.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class ReactiveBookingRepository {
+    private static final String SELECT = "SELECT b.id, b.start_date, b.end_date, b.status, " +
+            "u.id AS booker_id, u.name AS booker_name, i.id AS item_id, i.name AS item_name " +
+            "FROM bookings b " +
+            "JOIN users u ON u.id = b.booker_id " +
+            "JOIN items i ON i.id = b.item_id " +
+            "WHERE b.booker_id = :bookerId ";
+    private static final String AFTER_CURSOR = "AND b.start_date <= :cursorStart " +
+            "AND (b.start_date < :cursorStart OR b.id < :cursorId) ";
+    private static final String PAGE = "ORDER BY b.start_date DESC, b.id DESC " +
+            "LIMIT :size OFFSET :from";
+
+    private final DatabaseClient client;
+
+    public ReactiveBookingRepository(ReactiveReadDatabase database) {
+        this.client = database.client();
+    }
+
+    /**
+     * Bookings of the booker in the state, newest first, after the cursor position or from the first
+     * booking when the cursor is {@code null}; rows are read as the subscriber requests them. Fails with
+     * {@link UserNotFoundException} for an unknown booker.
+     */
+    public Flux<BookingResponseDto> findBookerBookings(Long bookerId, String state, BookingCursor cursor,
+                                                       int from, int size) {
+        DatabaseClient.GenericExecuteSpec query = bookerQuery(state.toUpperCase(),
+                cursor != null ? AFTER_CURSOR + PAGE : PAGE)
+                .bind("bookerId", bookerId)
+                .bind("size", size)
+                .bind("from", from);
+        if (cursor != null) {
+            query = query.bind("cursorStart", cursor.getStart())
+                    .bind("cursorId", cursor.getId());
+        }
+        return userExists(bookerId)
+                .thenMany(query.map(ReactiveBookingRepository::toResponseDto).all());
+    }
+
+    private DatabaseClient.GenericExecuteSpec bookerQuery(String state, String page) {
+        LocalDateTime now = LocalDateTime.now();
+        return switch (state) {
+            case "ALL" -> client.sql(SELECT + page);
+            case "CURRENT" -> client.sql(SELECT + "AND b.start_date <= :now AND b.end_date >= :now " + page)
+                    .bind("now", now);
+            case "PAST" -> client.sql(SELECT + "AND b.end_date < :now " + page).bind("now", now);
+            case "FUTURE" -> client.sql(SELECT + "AND b.start_date > :now " + page).bind("now", now);
+            case "WAITING", "REJECTED", "CANCELED" -> client.sql(SELECT + "AND b.status = :status " + page)
+                    .bind("status", state);
+            default -> throw new ValidationException("Unknown state: " + state);
+        };
+    }
+
+    private Mono<Void> userExists(Long userId) {
+        return client.sql("SELECT id FROM users WHERE id = :id")
+                .bind("id", userId)
+                .map(row -> row.get("id", Long.class))
+                .first()
+                .switchIfEmpty(Mono.error(() -> new UserNotFoundException("User not found with id: " + userId)))
+                .then();
+    }
+
+    private static BookingResponseDto toResponseDto(Readable row) {
+        return new BookingResponseDto(
+                row.get("id", Long.class),
+                row.get("start_date", LocalDateTime.class),
+                row.get("end_date", LocalDateTime.class),
+                BookingStatus.valueOf(row.get("status", String.class)),
+                new BookingResponseDto.BookerDto(row.get("booker_id", Long.class),
+                        row.get("booker_name", String.class)),
+                new BookingResponseDto.ItemDto(row.get("item_id", Long.class), row.get("item_name", String.class)));
+    }
+}
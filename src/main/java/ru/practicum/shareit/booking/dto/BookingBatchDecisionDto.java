@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingBatchDecisionDto {
+    public static final int MAX_DECISIONS = 100;
+
+    @NotEmpty(message = "Decisions cannot be empty")
+    @Size(max = MAX_DECISIONS, message = "At most " + MAX_DECISIONS + " decisions per batch")
+    private List<@Valid @NotNull BookingDecisionDto> decisions;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.BookingStatus;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionResultDto {
+    private Long bookingId;
+    private Outcome outcome;
+    // Status after the batch, null when the booking does not exist or belongs to another owner
+    private BookingStatus status;
+
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        FORBIDDEN,
+        ALREADY_PROCESSED,
+        CONFLICT
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.common;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Runs a query taking an IN list once per chunk of at most {@link #MAX_SIZE} values and concatenates the
+ * results, so a long id list stays within what the databases plan and bind comfortably.
+ */
+public class InListChunks {
+    public static final int MAX_SIZE = 1000;
+
+    private InListChunks() {
+    }
+
+    public static <T, R> List<R> query(Collection<T> values, Function<List<T>, List<R>> query) {
+        List<T> list = List.copyOf(values);
+        List<R> results = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += MAX_SIZE) {
+            results.addAll(query.apply(list.subList(from, Math.min(from + MAX_SIZE, list.size()))));
+        }
+        return results;
+    }
+}
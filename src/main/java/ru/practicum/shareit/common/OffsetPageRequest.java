@@ -0,0 +1,25 @@
+package ru.practicum.shareit.common;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Page request starting at an arbitrary row offset rather than at a multiple of the page size.
+ */
+public class OffsetPageRequest extends PageRequest {
+    private final long offset;
+
+    public OffsetPageRequest(long offset, int size) {
+        this(offset, size, Sort.unsorted());
+    }
+
+    public OffsetPageRequest(long offset, int size, Sort sort) {
+        super((int) (offset / size), size, sort);
+        this.offset = offset;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.common.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level cache backed by in-process Caffeine caches, one per region in
+ * {@link EntityCacheProperties}. Hit and miss counts are published as {@code cache.gets} metrics
+ * tagged {@code cache.manager=hibernate}. UserService.getUserById relies on the user region, there
+ * is no separate Spring cache of users.
+ */
+@Configuration
+public class EntityCacheConfig {
+    public static final String ITEMS_REGION = "item-entities";
+    public static final String USERS_REGION = "user-entities";
+    public static final String REQUESTS_REGION = "request-entities";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(EntityCacheProperties properties, MeterRegistry meterRegistry) {
+        // A manager of its own per application context, test contexts must not share cached rows
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entities-" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.getEntities().forEach((region, policy) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(policy.getMaxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(policy.getTtl().toNanos()));
+            configuration.setStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            new JCacheMetrics<>(cache, Tags.of("cache.manager", "hibernate")).bindTo(meterRegistry);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCache(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
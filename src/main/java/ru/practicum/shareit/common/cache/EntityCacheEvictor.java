@@ -0,0 +1,36 @@
+package ru.practicum.shareit.common.cache;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+/**
+ * Evicts cached entities changed by the database rather than through Hibernate. Deleting a user
+ * cascades to their items and requests and clears the request of items answering those requests,
+ * none of which Hibernate sees, so those entries are evicted by id once the delete is committed.
+ */
+@Slf4j
+@Component
+public class EntityCacheEvictor {
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityCacheEvictor(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        Cache cache = entityManagerFactory.getCache();
+        event.getOwnedItemIds().forEach(itemId -> cache.evict(Item.class, itemId));
+        event.getAnsweringItemIds().forEach(itemId -> cache.evict(Item.class, itemId));
+        event.getRequestIds().forEach(requestId -> cache.evict(ItemRequest.class, requestId));
+        log.debug("Evicted {} cached items and {} requests after deleting user {}",
+                event.getOwnedItemIds().size() + event.getAnsweringItemIds().size(), event.getRequestIds().size(),
+                event.getUserId());
+    }
+}
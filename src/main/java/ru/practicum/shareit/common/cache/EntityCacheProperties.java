@@ -0,0 +1,27 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and time-to-live of the Hibernate second-level cache regions, keyed by region name, e.g.
+ * {@code shareit.cache.entities.item-entities.max-size=50000}. Every region named by an entity's
+ * {@code @Cache} annotation needs an entry, startup fails otherwise.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit.cache")
+public class EntityCacheProperties {
+    private Map<String, Region> entities = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.common.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+/**
+ * Remembers who committed a write recently, so that their following reads do not go to a replica that
+ * has not caught up yet. Reads stay on the primary for the rest of a request that committed a write,
+ * and for {@code shareit.datasource.replicas.read-your-writes-window} for the user who sent it.
+ */
+public class ReadYourWritesTracker implements TransactionExecutionListener {
+    private static final ThreadLocal<RequestState> CURRENT = new ThreadLocal<>();
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Binds the request of the user, {@code null} if anonymous, to the current thread.
+     */
+    public void begin(Long userId) {
+        CURRENT.set(new RequestState(userId));
+    }
+
+    public void end() {
+        CURRENT.remove();
+    }
+
+    public boolean requiresPrimary() {
+        RequestState state = CURRENT.get();
+        if (state == null) {
+            return false;
+        }
+        return state.wrote || state.userId != null && recentWriters.getIfPresent(state.userId) != null;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        RequestState state = CURRENT.get();
+        if (commitFailure != null || transaction.isReadOnly() || state == null) {
+            return;
+        }
+        state.wrote = true;
+        if (state.userId != null) {
+            recentWriters.put(state.userId, Boolean.TRUE);
+        }
+    }
+
+    private static class RequestState {
+        private final Long userId;
+        private boolean wrote;
+
+        RequestState(Long userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only transactions to the replicas in {@code shareit.datasource.replicas.urls} and everything
+ * else to {@code spring.datasource}. The connection is only taken once the transaction runs its first
+ * statement, when it is known whether the transaction is read-only.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicas) {
+        return new ReadYourWritesTracker(replicas.getReadYourWritesWindow());
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesFilter(readYourWritesTracker);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaPoolDataSource replicaDataSource(HikariDataSource primaryDataSource, DataSourceProperties properties,
+                                                   ReplicaProperties replicas,
+                                                   ReadYourWritesTracker readYourWritesTracker) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (String url : replicas.getUrls()) {
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(properties.determineDriverClassName())
+                    .url(url)
+                    .username(replicas.getUsername() != null ? replicas.getUsername() : properties.determineUsername())
+                    .password(replicas.getPassword() != null ? replicas.getPassword() : properties.determinePassword())
+                    .build();
+            pool.setPoolName("replica-" + pools.size());
+            pool.setMaximumPoolSize(replicas.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pools.add(pool);
+        }
+        return new ReplicaPoolDataSource(primaryDataSource, pools, replicas.getPolicy(), readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaPoolDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.common.datasource;
+
+/**
+ * How {@link ReplicaPoolDataSource} picks the replica of the next read-only transaction.
+ */
+public enum ReplicaPolicy {
+    /** Replicas take turns. */
+    ROUND_ROBIN,
+    /** The replica with the fewest connections in use, ties go to the first one. */
+    LEAST_LOADED
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections of read-only transactions: one of the replica pools, picked by the {@link ReplicaPolicy},
+ * or the primary while {@link ReadYourWritesTracker} says the caller may not see its own writes on a replica.
+ */
+public class ReplicaPoolDataSource extends AbstractDataSource implements Closeable {
+    private final DataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final ReplicaPolicy policy;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaPoolDataSource(DataSource primary, List<HikariDataSource> replicas, ReplicaPolicy policy,
+                                 ReadYourWritesTracker readYourWritesTracker) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.policy = policy;
+        this.readYourWritesTracker = readYourWritesTracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return determineTarget().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return determineTarget().getConnection(username, password);
+    }
+
+    DataSource determineTarget() {
+        if (replicas.isEmpty() || readYourWritesTracker.requiresPrimary()) {
+            return primary;
+        }
+        return policy == ReplicaPolicy.LEAST_LOADED
+                ? leastLoaded()
+                : replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+
+    private HikariDataSource leastLoaded() {
+        HikariDataSource least = replicas.get(0);
+        int leastActive = activeConnections(least);
+        for (int i = 1; i < replicas.size() && leastActive > 0; i++) {
+            int active = activeConnections(replicas.get(i));
+            if (active < leastActive) {
+                least = replicas.get(i);
+                leastActive = active;
+            }
+        }
+        return least;
+    }
+
+    private int activeConnections(HikariDataSource replica) {
+        // The pool starts with its first connection
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+        return pool != null ? pool.getActiveConnections() : 0;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.common.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas of {@code spring.datasource}. Replicas use the user name, password and driver of the
+ * primary unless set here.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit.datasource.replicas")
+public class ReplicaProperties {
+    private boolean enabled;
+    private List<String> urls = new ArrayList<>();
+    private String username;
+    private String password;
+    private ReplicaPolicy policy = ReplicaPolicy.ROUND_ROBIN;
+    private int maximumPoolSize = 10;
+    /** Read-only transactions of a user who committed a write this recently still run on the primary. */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import ru.practicum.shareit.booking.Booking;
+
+/**
+ * A booking being created, approved, rejected or canceled. The outcome is the resulting booking
+ * status or the simple name of the exception the operation failed with.
+ */
+@Name("shareit.BookingLifecycle")
+@Label("Booking Lifecycle")
+@Category({"ShareIt", "Bookings"})
+@Description("Booking create, approve, reject and cancel operations")
+public class BookingLifecycleEvent extends Event {
+    @Label("Action")
+    String action;
+
+    @Label("User Id")
+    long userId;
+
+    @Label("Booking Id")
+    long bookingId;
+
+    @Label("Item Id")
+    long itemId;
+
+    @Label("Outcome")
+    String outcome;
+
+    public static BookingLifecycleEvent start(String action, Long userId, Long bookingId, Long itemId) {
+        BookingLifecycleEvent event = new BookingLifecycleEvent();
+        if (event.isEnabled()) {
+            event.action = action;
+            event.userId = userId != null ? userId : 0;
+            event.bookingId = bookingId != null ? bookingId : 0;
+            event.itemId = itemId != null ? itemId : 0;
+            event.begin();
+        }
+        return event;
+    }
+
+    public Booking finished(Booking booking) {
+        if (shouldCommit()) {
+            bookingId = booking.getId();
+            itemId = booking.getItem().getId();
+            outcome = booking.getStatus().name();
+            commit();
+        }
+        return booking;
+    }
+
+    public RuntimeException failed(RuntimeException e) {
+        if (shouldCommit()) {
+            outcome = e.getClass().getSimpleName();
+            commit();
+        }
+        return e;
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.common.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.File;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Flight recordings on demand: {@code POST /actuator/jfr} starts a recording bounded by
+ * {@code shareit.jfr.max-age} and {@code shareit.jfr.max-size}, {@code GET} downloads what it has
+ * recorded so far and {@code DELETE} stops it. Only one recording runs at a time. The ShareIt events
+ * are enabled on top of the chosen JDK settings ({@code default} unless {@code settings=profile}), repository
+ * calls only when slower than {@code shareit.jfr.repository-call-threshold}. Environment variables and
+ * system properties are never recorded. The endpoint is not exposed unless {@code jfr} is added to
+ * {@code management.endpoints.web.exposure.include}.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+    private final Duration maxAge;
+    private final DataSize maxSize;
+    private final Duration repositoryCallThreshold;
+    private Recording recording;
+
+    public FlightRecordingEndpoint(@Value("${shareit.jfr.max-age:10m}") Duration maxAge,
+                                   @Value("${shareit.jfr.max-size:50MB}") DataSize maxSize,
+                                   @Value("${shareit.jfr.repository-call-threshold:1ms}") Duration repositoryCallThreshold) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+        this.repositoryCallThreshold = repositoryCallThreshold;
+    }
+
+    @WriteOperation
+    public synchronized WebEndpointResponse<Map<String, Object>> start(@Nullable String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings != null ? settings : "default");
+        } catch (IOException | ParseException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown settings: " + settings),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        closeRecording();
+        recording = new Recording(configuration);
+        recording.setName("shareit");
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSize.toBytes());
+        recording.setToDisk(true);
+        // Both are enabled by the JDK settings and would put DB_PASSWORD and friends into the dump
+        recording.disable("jdk.InitialEnvironmentVariable");
+        recording.disable("jdk.InitialSystemProperty");
+        recording.enable(BookingLifecycleEvent.class);
+        recording.enable(ItemSearchEvent.class);
+        recording.enable(RepositoryCallEvent.class).withThreshold(repositoryCallThreshold);
+        recording.start();
+        log.info("Flight recording started with {} settings, max age {}, max size {}",
+                configuration.getName(), maxAge, maxSize);
+        return new WebEndpointResponse<>(status(), WebEndpointResponse.STATUS_OK);
+    }
+
+    @ReadOperation
+    public synchronized WebEndpointResponse<Resource> dump() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.CLOSED) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("shareit-", ".jfr");
+        recording.dump(file);
+        return new WebEndpointResponse<>(new TemporaryFileResource(file.toFile()), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        Map<String, Object> status = status();
+        closeRecording();
+        recording = null;
+        return status;
+    }
+
+    private Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("state", recording != null ? recording.getState().name() : "NONE");
+        if (recording != null) {
+            status.put("startTime", recording.getStartTime());
+            status.put("maxAge", maxAge.toString());
+            status.put("maxSize", maxSize.toString());
+            status.put("size", recording.getSize());
+        }
+        return status;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            log.info("Flight recording closed");
+        }
+    }
+
+    /**
+     * Deleted once the response has been written.
+     */
+    private static class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(File file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // Keeps the response writer on getInputStream instead of reading the file directly
+            return false;
+        }
+    }
+}
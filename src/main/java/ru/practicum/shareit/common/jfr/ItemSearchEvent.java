@@ -0,0 +1,52 @@
+package ru.practicum.shareit.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.List;
+
+@Name("shareit.ItemSearch")
+@Label("Item Search")
+@Category({"ShareIt", "Items"})
+@Description("Full-text and fuzzy item searches")
+public class ItemSearchEvent extends Event {
+    private static final int MAX_TEXT_LENGTH = 100;
+
+    @Label("Text")
+    String text;
+
+    @Label("Fuzzy")
+    boolean fuzzy;
+
+    @Label("From")
+    int from;
+
+    @Label("Size")
+    int size;
+
+    @Label("Results")
+    int results;
+
+    public static ItemSearchEvent start(String text, boolean fuzzy, int from, int size) {
+        ItemSearchEvent event = new ItemSearchEvent();
+        if (event.isEnabled()) {
+            event.text = text.length() > MAX_TEXT_LENGTH ? text.substring(0, MAX_TEXT_LENGTH) : text;
+            event.fuzzy = fuzzy;
+            event.from = from;
+            event.size = size;
+            event.begin();
+        }
+        return event;
+    }
+
+    public <T> List<T> finished(List<T> items) {
+        if (shouldCommit()) {
+            results = items.size();
+            commit();
+        }
+        return items;
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.common.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A Spring Data repository call. Only calls slower than the threshold are recorded by default, the
+ * recording settings can lower it to 0 ms to see every call.
+ */
+@Name("shareit.RepositoryCall")
+@Label("Repository Call")
+@Category({"ShareIt", "Database"})
+@Description("Spring Data repository method invocations")
+@Threshold("1 ms")
+public class RepositoryCallEvent extends Event {
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Result Size")
+    @Description("Elements returned by collection, page and Optional results, 1 for any other value")
+    int resultSize;
+
+    @Label("Exception")
+    String exception;
+}
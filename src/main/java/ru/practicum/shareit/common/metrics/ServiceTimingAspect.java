@@ -0,0 +1,103 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every public method of the {@code *Service} beans as {@code shareit.service}, tagged by class,
+ * method, {@code state} filter (where the method takes one, values outside
+ * {@code shareit.metrics.timing.states} become {@code UNKNOWN}) and exception. Histogram buckets
+ * come from the {@code management.metrics.distribution.*} properties. Timers are resolved once per
+ * method and tag combination, so a call costs two clock reads and a map lookup. Calls a service
+ * makes to its own methods are not proxied and therefore not timed separately.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "shareit.metrics.timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServiceTimingAspect {
+    static final String METRIC = "shareit.service";
+    private static final String NONE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> states;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ServiceTimingAspect(MeterRegistry meterRegistry,
+                               @Value("${shareit.metrics.timing.states}") Set<String> states) {
+        this.meterRegistry = meterRegistry;
+        this.states = Set.copyOf(states);
+    }
+
+    @Around("execution(public * ru.practicum.shareit..*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimers methodTimers = timers.computeIfAbsent(method, MethodTimers::new);
+        String state = methodTimers.state(joinPoint.getArgs());
+        long started = System.nanoTime();
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            methodTimers.timer(state, exception).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private class MethodTimers {
+        private final String className;
+        private final String methodName;
+        private final int stateIndex;
+        private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+        MethodTimers(Method method) {
+            this.className = method.getDeclaringClass().getSimpleName();
+            this.methodName = method.getName();
+            this.stateIndex = stateIndex(method);
+        }
+
+        String state(Object[] args) {
+            if (stateIndex < 0 || !(args[stateIndex] instanceof String state)) {
+                return NONE;
+            }
+            // Only known states become tag values, anything else would grow the number of series
+            String upper = state.toUpperCase();
+            return states.contains(upper) ? upper : "UNKNOWN";
+        }
+
+        Timer timer(String state, String exception) {
+            return timers.computeIfAbsent(state + '/' + exception, key -> Timer.builder(METRIC)
+                    .description("Service method latency")
+                    .tag("class", className)
+                    .tag("method", methodName)
+                    .tag("state", state)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+
+        private static int stateIndex(Method method) {
+            Parameter[] parameters = method.getParameters();
+            for (int i = 0; i < parameters.length; i++) {
+                if (parameters[i].getType() == String.class && parameters[i].getName().equals("state")) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.common.migration;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Migration 8.2: copies the owner of the booked item onto bookings.owner_id. Rows that already have an
+ * owner are skipped.
+ */
+@Component
+public class BookingOwnerBackfillMigration extends IdRangeBackfillMigration {
+    private static final String UPDATE_RANGE = "UPDATE bookings " +
+            "SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id) " +
+            "WHERE id >= ? AND id < ? AND owner_id IS NULL";
+
+    public BookingOwnerBackfillMigration() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    BookingOwnerBackfillMigration(int batchSize) {
+        super("8.2", "backfill booking owner", "bookings", UPDATE_RANGE, batchSize);
+    }
+}
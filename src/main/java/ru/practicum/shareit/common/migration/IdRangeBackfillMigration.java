@@ -0,0 +1,98 @@
+package ru.practicum.shareit.common.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Fills a column of an existing table in id ranges of {@code batchSize} outside a Flyway transaction. Each
+ * range is committed on its own, so row locks are only held for one range and the table stays writable.
+ * The update statement binds the range as {@code id >= ? AND id < ?} and skips rows that are already filled.
+ * Subclasses are registered with Flyway as Spring beans, their version is not taken from the class name.
+ */
+@Slf4j
+abstract class IdRangeBackfillMigration implements JavaMigration {
+    static final int DEFAULT_BATCH_SIZE = 10_000;
+
+    private final String version;
+    private final String description;
+    private final String table;
+    private final String updateRange;
+    private final int batchSize;
+
+    IdRangeBackfillMigration(String version, String description, String table, String updateRange, int batchSize) {
+        this.version = version;
+        this.description = description;
+        this.table = table;
+        this.updateRange = updateRange;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion(version);
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    /**
+     * Whether the column exists on the database behind the connection, migrations for vendor-specific
+     * columns are recorded as applied elsewhere without doing anything.
+     */
+    boolean appliesTo(Connection connection) throws SQLException {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        if (!appliesTo(connection)) {
+            return;
+        }
+        long minId;
+        long maxId;
+        try (Statement statement = connection.createStatement();
+             ResultSet range = statement.executeQuery("SELECT MIN(id), MAX(id) FROM " + table)) {
+            range.next();
+            minId = range.getLong(1);
+            if (range.wasNull()) {
+                return;
+            }
+            maxId = range.getLong(2);
+        }
+
+        long updated = 0;
+        try (PreparedStatement update = connection.prepareStatement(updateRange)) {
+            for (long from = minId; from <= maxId; from += batchSize) {
+                update.setLong(1, from);
+                update.setLong(2, from + batchSize);
+                updated += update.executeUpdate();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+        }
+        log.info("Migration {} ({}) updated {} rows of {} in id ranges of {}",
+                version, description, updated, table, batchSize);
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common.migration;
+
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Migration 4.1: computes items.search_vector for rows written before the column and its trigger were added
+ * by V4. The column only exists on PostgreSQL, other databases skip the migration.
+ */
+@Component
+public class ItemSearchVectorBackfillMigration extends IdRangeBackfillMigration {
+    private static final String UPDATE_RANGE = "UPDATE items " +
+            "SET search_vector = setweight(to_tsvector('simple', name), 'A') || " +
+            "setweight(to_tsvector('simple', description), 'B') " +
+            "WHERE id >= ? AND id < ? AND search_vector IS NULL";
+
+    public ItemSearchVectorBackfillMigration() {
+        this(DEFAULT_BATCH_SIZE);
+    }
+
+    ItemSearchVectorBackfillMigration(int batchSize) {
+        super("4.1", "backfill item search vector", "items", UPDATE_RANGE, batchSize);
+    }
+
+    @Override
+    boolean appliesTo(Connection connection) throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.common.r2dbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Non-blocking connection pool and client of the reactive read API. The pool is deliberately not a
+ * {@link ConnectionFactory} bean: Spring Boot would take such a bean as a sign that the application is
+ * R2DBC-only and stop configuring the JDBC DataSource that JPA and all writes use. Pool usage is
+ * published as {@code shareit.r2dbc.connections} tagged with the state of the connections.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class ReactiveReadDatabase implements DisposableBean {
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final boolean postgres;
+
+    public ReactiveReadDatabase(ReactiveReadProperties properties, MeterRegistry meterRegistry) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (properties.getUsername() != null) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (properties.getPassword() != null) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+        ConnectionFactory connectionFactory = ConnectionFactories.get(options.build());
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name("reactive-read")
+                .initialSize(0)
+                .maxSize(properties.getPoolSize())
+                .build());
+        this.client = DatabaseClient.create(pool);
+        this.postgres = connectionFactory.getMetadata().getName().contains("PostgreSQL");
+
+        registerGauge(meterRegistry, "acquired", PoolMetrics::acquiredSize);
+        registerGauge(meterRegistry, "idle", PoolMetrics::idleSize);
+        registerGauge(meterRegistry, "pending", PoolMetrics::pendingAcquireSize);
+        log.info("Reactive reads use {} with up to {} connections", connectionFactory.getMetadata().getName(),
+                properties.getPoolSize());
+    }
+
+    public DatabaseClient client() {
+        return client;
+    }
+
+    /**
+     * Whether the database is PostgreSQL, whose full-text search the H2 database used locally lacks.
+     */
+    public boolean isPostgres() {
+        return postgres;
+    }
+
+    private void registerGauge(MeterRegistry meterRegistry, String state, ToIntFunction<PoolMetrics> value) {
+        Gauge.builder("shareit.r2dbc.connections", pool,
+                        p -> p.getMetrics().map(metrics -> (double) value.applyAsInt(metrics)).orElse(0.0))
+                .description("Connections of the reactive read pool")
+                .tag("state", state)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
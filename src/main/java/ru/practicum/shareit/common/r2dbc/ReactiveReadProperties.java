@@ -0,0 +1,19 @@
+package ru.practicum.shareit.common.r2dbc;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * R2DBC connection of the reactive read API, pointing at the same database as {@code spring.datasource}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit.reactive")
+public class ReactiveReadProperties {
+    private boolean enabled;
+    private String url;
+    private String username;
+    private String password;
+    private int poolSize = 10;
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.common.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the JDBC statements of every HTTP request and publishes them as the
+ * {@code shareit.sql.statements} summary and the {@code shareit.sql.time} timer, tagged by the handling
+ * controller method. A request that runs the same statement shape
+ * {@code shareit.sql.repeated-statement-threshold} times or more is logged as a likely N+1 query.
+ * Statements of streaming responses written after the handler returns are not counted.
+ */
+@Slf4j
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final MeterRegistry meterRegistry;
+    private final int repeatedStatementThreshold;
+
+    public SqlStatementFilter(MeterRegistry meterRegistry,
+                              @Value("${shareit.sql.repeated-statement-threshold:10}") int repeatedStatementThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementTracker.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatementTracker.stop();
+            request.setAttribute(SqlStatementStats.ATTRIBUTE, stats);
+            record(request, stats);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementStats stats) {
+        String handler = handlerName(request);
+        DistributionSummary.builder("shareit.sql.statements")
+                .description("JDBC statements prepared per HTTP request")
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(stats.getStatementCount());
+        Timer.builder("shareit.sql.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tag("handler", handler)
+                .register(meterRegistry)
+                .record(stats.getExecutionNanos(), TimeUnit.NANOSECONDS);
+
+        stats.mostRepeatedShape(repeatedStatementThreshold).ifPresent(repeated -> logRepeated(request, handler,
+                stats, repeated));
+    }
+
+    private void logRepeated(HttpServletRequest request, String handler, SqlStatementStats stats,
+                             Map.Entry<String, Integer> repeated) {
+        String sql = repeated.getKey();
+        if (sql.length() > MAX_LOGGED_SQL_LENGTH) {
+            sql = sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+        }
+        log.warn("Possible N+1 in {} ({} {}): {} statements, {} of them the same: {}", handler,
+                request.getMethod(), request.getRequestURI(), stats.getStatementCount(), repeated.getValue(), sql);
+    }
+
+    private String handlerName(HttpServletRequest request) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.common.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every statement Hibernate prepares, leaving the SQL unchanged.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementTracker.recordStatement(sql);
+        return sql;
+    }
+}
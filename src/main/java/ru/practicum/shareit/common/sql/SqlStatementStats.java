@@ -0,0 +1,60 @@
+package ru.practicum.shareit.common.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * JDBC statements run on behalf of one HTTP request: how many were prepared, how long they spent
+ * executing and how often each statement shape occurred. A shape is the SQL with whitespace collapsed
+ * and IN lists of any length reduced to a single parameter, so the same query for different ids
+ * counts as a repetition.
+ */
+public class SqlStatementStats {
+    /** Request attribute holding the statistics of a finished request. */
+    public static final String ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statementCount;
+    private long executionNanos;
+
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(shape).replaceAll("?");
+    }
+
+    void recordStatement(String sql) {
+        statementCount++;
+        shapes.merge(shapeOf(sql), 1, Integer::sum);
+    }
+
+    void recordExecution(long nanos) {
+        executionNanos += nanos;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getExecutionNanos() {
+        return executionNanos;
+    }
+
+    public Map<String, Integer> getShapeCounts() {
+        return Map.copyOf(shapes);
+    }
+
+    /**
+     * Returns the most repeated statement shape if it ran at least {@code threshold} times.
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeatedShape(int threshold) {
+        return shapes.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold)
+                .max(Map.Entry.comparingByValue())
+                .map(e -> Map.entry(e.getKey(), e.getValue()));
+    }
+}
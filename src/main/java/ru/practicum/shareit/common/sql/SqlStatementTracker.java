@@ -0,0 +1,38 @@
+package ru.practicum.shareit.common.sql;
+
+/**
+ * Binds {@link SqlStatementStats} to the current thread. Hibernate reports statements through
+ * {@link SqlStatementInspector} and {@link SqlTimingSessionListener}, which are created by Hibernate
+ * rather than Spring and find the statistics of the running request here. Statements run while
+ * nothing is tracked are ignored.
+ */
+public final class SqlStatementTracker {
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private SqlStatementTracker() {
+    }
+
+    public static SqlStatementStats start() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    static void recordStatement(String sql) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+    }
+
+    static void recordExecution(long nanos) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.recordExecution(nanos);
+        }
+    }
+}
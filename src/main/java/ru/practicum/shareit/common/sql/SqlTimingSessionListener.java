@@ -0,0 +1,31 @@
+package ru.practicum.shareit.common.sql;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Measures time spent executing statements and batches. Hibernate creates one listener per session
+ * and a session is used by one thread at a time, so the start time needs no synchronization.
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+    private long executionStarted;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementTracker.recordExecution(System.nanoTime() - executionStarted);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStarted = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementTracker.recordExecution(System.nanoTime() - executionStarted);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.common.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests handled at once when every request gets its own virtual thread.
+ * Without a limit thousands of requests can queue on the connection pool at once and all time out
+ * together; with it the excess waits here for at most {@code shareit.threads.bulkhead.max-wait} and is
+ * then turned away with 503. By default four requests are admitted per pooled connection, since a
+ * request holds a connection for only part of its time. Actuator endpoints are not limited.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "shareit.threads.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestBulkheadFilter extends OncePerRequestFilter {
+    private static final int REQUESTS_PER_CONNECTION = 4;
+
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+
+    public RequestBulkheadFilter(
+            @Value("${shareit.threads.bulkhead.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            @Value("${shareit.threads.bulkhead.max-wait:1s}") Duration maxWait,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : connectionPoolSize * REQUESTS_PER_CONNECTION;
+        this.permits = new Semaphore(limit, true);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.objectMapper = objectMapper;
+        Gauge.builder("shareit.threads.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Requests the bulkhead would still admit")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("shareit.threads.bulkhead.rejected")
+                .description("Requests turned away because the bulkhead stayed full")
+                .register(meterRegistry);
+        log.info("Admitting at most {} concurrent requests", limit);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean admitted;
+        try {
+            admitted = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            reject(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        rejected.increment();
+        log.warn("Too many concurrent requests, rejected {} {}", request.getMethod(), request.getRequestURI());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(
+                "error", "Too many concurrent requests, please retry",
+                "timestamp", LocalDateTime.now().toString()));
+    }
+}
@@ -2,8 +2,10 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.InListChunks;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.model.Comment;
@@ -13,7 +15,11 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -23,14 +29,17 @@ public class CommentService {
     private final UserService userService;
     private final ItemService itemService;
     private final ItemBookingInfoService itemBookingInfoService;
+    private final int commentsPerItem;
 
     @Autowired
     public CommentService(CommentRepository commentRepository, UserService userService,
-                          ItemService itemService, ItemBookingInfoService itemBookingInfoService) {
+                          ItemService itemService, ItemBookingInfoService itemBookingInfoService,
+                          @Value("${shareit.items.comments-per-item:20}") int commentsPerItem) {
         this.commentRepository = commentRepository;
         this.userService = userService;
         this.itemService = itemService;
         this.itemBookingInfoService = itemBookingInfoService;
+        this.commentsPerItem = commentsPerItem;
     }
 
     @Transactional
@@ -54,4 +63,13 @@ public class CommentService {
     public List<Comment> getCommentsByItemId(Long itemId) {
         return commentRepository.findByItemIdOrderByCreatedDesc(itemId);
     }
-}
\ No newline at end of file
+
+    // Each IN list chunk brings whole per-item comment lists
+    public Map<Long, List<Comment>> getLatestCommentsByItemIds(Collection<Long> itemIds) {
+        Map<Long, List<Comment>> comments = new HashMap<>();
+        InListChunks.query(itemIds, chunk -> commentRepository.findLatestByItemIds(chunk, commentsPerItem))
+                .forEach(comment -> comments.computeIfAbsent(comment.getItem().getId(), id -> new ArrayList<>())
+                        .add(comment));
+        return comments;
+    }
+}
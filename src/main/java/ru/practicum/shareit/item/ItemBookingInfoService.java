@@ -2,29 +2,43 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.common.InListChunks;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class ItemBookingInfoService {
     private final BookingRepository bookingRepository;
 
-    public Booking getLastBookingForItem(Long itemId) {
-        return bookingRepository.findFirstByItemIdAndStartBeforeAndStatusOrderByStartDesc(
-                itemId, LocalDateTime.now(), BookingStatus.APPROVED).orElse(null);
+    public Map<Long, BookingShortDto> getLastBookingsForItems(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        return byItemId(InListChunks.query(itemIds, chunk -> bookingRepository.findLastBookingsForItems(
+                chunk, now, BookingStatus.APPROVED)));
     }
 
-    public Booking getNextBookingForItem(Long itemId) {
-        return bookingRepository.findFirstByItemIdAndStartAfterAndStatusOrderByStartAsc(
-                itemId, LocalDateTime.now(), BookingStatus.APPROVED).orElse(null);
+    public Map<Long, BookingShortDto> getNextBookingsForItems(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        return byItemId(InListChunks.query(itemIds, chunk -> bookingRepository.findNextBookingsForItems(
+                chunk, now, BookingStatus.APPROVED)));
     }
 
     public boolean hasUserBookedItem(Long userId, Long itemId) {
-        return !bookingRepository.findCompletedBookingsByBookerAndItem(
-                userId, itemId, LocalDateTime.now(), BookingStatus.APPROVED).isEmpty();
+        return bookingRepository.existsCompletedBookingByBookerAndItem(
+                userId, itemId, LocalDateTime.now(), BookingStatus.APPROVED);
     }
-}
\ No newline at end of file
+
+    // The queries return at most one booking per item
+    private static Map<Long, BookingShortDto> byItemId(List<BookingShortDto> bookings) {
+        Map<Long, BookingShortDto> byItemId = new HashMap<>();
+        bookings.forEach(booking -> byItemId.put(booking.getItemId(), booking));
+        return byItemId;
+    }
+}
@@ -1,8 +1,18 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,11 +24,16 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import ru.practicum.shareit.booking.Booking;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportEventDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.importer.ItemImportFormat;
+import ru.practicum.shareit.item.importer.ItemImporter;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
@@ -26,7 +41,11 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -35,11 +54,16 @@ import java.util.stream.Collectors;
 @Validated
 @RequiredArgsConstructor
 public class ItemController {
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+
     private final ItemService itemService;
     private final CommentService commentService;
     private final UserService userService;
     private final ItemMapper itemMapper;
     private final ItemBookingInfoService itemBookingInfoService;
+    private final ItemImporter itemImporter;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ItemDto> createItem(@Valid @RequestBody ItemDto itemDto,
@@ -52,6 +76,53 @@ public class ItemController {
         return ResponseEntity.ok(itemMapper.toItemDto(createdItem));
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ItemDto>> createItems(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid ItemDto> itemDtos,
+            @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Creating {} items for user {}", itemDtos.size(), userId);
+        User owner = userService.getUserById(userId);
+        List<Item> items = itemDtos.stream()
+                .map(itemDto -> itemMapper.toItem(itemDto, owner))
+                .collect(Collectors.toList());
+        List<ItemDto> createdItems = itemService.createItems(items, userId).stream()
+                .map(itemMapper::toItemDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(createdItems);
+    }
+
+    /**
+     * Streams the import result as NDJSON: an ERROR line per rejected row, a PROGRESS line after every
+     * written batch and a final SUMMARY line.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"}, produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importItems(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             InputStream body) {
+        ItemImportFormat format = ItemImportFormat.fromContentType(contentType);
+        User owner = userService.getUserById(userId);
+        log.info("Importing {} items for user {}", format, userId);
+        StreamingResponseBody response = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.setRootValueSeparator(new SerializedString("\n"));
+                itemImporter.importItems(body, format, owner, event -> {
+                    try {
+                        generator.writeObject(event);
+                        if (event.getType() != ItemImportEventDto.Type.ERROR) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeRaw('\n');
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(response);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<CommentDto> addComment(
             @PathVariable Long itemId,
@@ -86,15 +157,9 @@ public class ItemController {
         ItemDto.BookingInfo nextBooking = null;
 
         if (item.getOwner() != null && item.getOwner().getId().equals(userId)) {
-            Booking last = itemBookingInfoService.getLastBookingForItem(item.getId());
-            Booking next = itemBookingInfoService.getNextBookingForItem(item.getId());
-
-            if (last != null) {
-                lastBooking = new ItemDto.BookingInfo(last.getId(), last.getBooker().getId());
-            }
-            if (next != null) {
-                nextBooking = new ItemDto.BookingInfo(next.getId(), next.getBooker().getId());
-            }
+            List<Long> itemIds = List.of(item.getId());
+            lastBooking = toBookingInfo(itemBookingInfoService.getLastBookingsForItems(itemIds).get(item.getId()));
+            nextBooking = toBookingInfo(itemBookingInfoService.getNextBookingsForItems(itemIds).get(item.getId()));
         }
 
         ItemDto itemDto = itemMapper.toItemDto(item, userId, lastBooking, nextBooking);
@@ -109,37 +174,51 @@ public class ItemController {
     public ResponseEntity<List<ItemDto>> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Getting items for owner: {}", userId);
         List<Item> items = itemService.getItemsByOwner(userId);
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
 
-        List<ItemDto> itemDtos = items.stream().map(item -> {
-            ItemDto.BookingInfo lastBooking = null;
-            ItemDto.BookingInfo nextBooking = null;
-
-            if (item.getOwner() != null && item.getOwner().getId().equals(userId)) {
-                Booking last = itemBookingInfoService.getLastBookingForItem(item.getId());
-                Booking next = itemBookingInfoService.getNextBookingForItem(item.getId());
-
-                if (last != null) {
-                    lastBooking = new ItemDto.BookingInfo(last.getId(), last.getBooker().getId());
-                }
-                if (next != null) {
-                    nextBooking = new ItemDto.BookingInfo(next.getId(), next.getBooker().getId());
-                }
-            }
-
-            return itemMapper.toItemDto(item, userId, lastBooking, nextBooking);
-        }).collect(Collectors.toList());
+        Map<Long, BookingShortDto> lastBookings = itemBookingInfoService.getLastBookingsForItems(itemIds);
+        Map<Long, BookingShortDto> nextBookings = itemBookingInfoService.getNextBookingsForItems(itemIds);
+        Map<Long, List<Comment>> comments = commentService.getLatestCommentsByItemIds(itemIds);
+
+        List<ItemDto> itemDtos = items.stream()
+                .map(item -> {
+                    ItemDto itemDto = itemMapper.toItemDto(item, userId,
+                            toBookingInfo(lastBookings.get(item.getId())),
+                            toBookingInfo(nextBookings.get(item.getId())));
+                    itemDto.setComments(comments.getOrDefault(item.getId(), List.of()).stream()
+                            .map(CommentMapper::toDto)
+                            .collect(Collectors.toList()));
+                    return itemDto;
+                })
+                .collect(Collectors.toList());
 
         log.info("Found {} items for owner {}", itemDtos.size(), userId);
         return ResponseEntity.ok(itemDtos);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<ItemDto>> searchItems(@RequestParam String text) {
-        log.info("Searching items with text: '{}'", text);
-        List<ItemDto> items = itemService.searchItems(text).stream()
+    public ResponseEntity<List<ItemDto>> searchItems(@RequestParam String text,
+                                                     @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                     @RequestParam(defaultValue = "10") @Positive
+                                                     @Max(MAX_SEARCH_PAGE_SIZE) int size,
+                                                     @RequestParam(defaultValue = "false") boolean fuzzy) {
+        log.info("Searching items with text: '{}', fuzzy: {}", text, fuzzy);
+        if ((long) from + size > Integer.MAX_VALUE) {
+            throw new ValidationException("from + size must not exceed " + Integer.MAX_VALUE);
+        }
+        List<Item> found = fuzzy
+                ? itemService.fuzzySearchItems(text, from, size)
+                : itemService.searchItems(text, from, size);
+        List<ItemDto> items = found.stream()
                 .map(itemMapper::toItemDto)
                 .collect(Collectors.toList());
         log.info("Found {} items for search '{}'", items.size(), text);
         return ResponseEntity.ok(items);
     }
-}
+
+    private ItemDto.BookingInfo toBookingInfo(BookingShortDto booking) {
+        return booking != null ? new ItemDto.BookingInfo(booking.getId(), booking.getBookerId()) : null;
+    }
+}
\ No newline at end of file
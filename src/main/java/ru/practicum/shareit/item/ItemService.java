@@ -2,15 +2,26 @@ package ru.practicum.shareit.item;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.jfr.ItemSearchEvent;
 import ru.practicum.shareit.exception.ItemAccessDeniedException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.FuzzyItemSearch;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.user.UserService;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -18,26 +29,71 @@ import java.util.List;
 public class ItemService {
     private final ItemRepository itemRepository;
     private final UserService userService;
+    private final ItemSearchEngine itemSearchEngine;
+    private final FuzzyItemSearch fuzzyItemSearch;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public ItemService(ItemRepository itemRepository, UserService userService) {
+    public ItemService(ItemRepository itemRepository, UserService userService, ItemSearchEngine itemSearchEngine,
+                       FuzzyItemSearch fuzzyItemSearch, ApplicationEventPublisher eventPublisher) {
         this.itemRepository = itemRepository;
         this.userService = userService;
+        this.itemSearchEngine = itemSearchEngine;
+        this.fuzzyItemSearch = fuzzyItemSearch;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
     public Item createItem(Item item, Long ownerId) {
         userService.getUserById(ownerId);
         Item createdItem = itemRepository.save(item);
+        eventPublisher.publishEvent(new ItemSavedEvent(createdItem));
         log.info("Item created with id: {}", createdItem.getId());
         return createdItem;
     }
 
+    /**
+     * Saves all items in one transaction. Ids come from a pooled sequence, so the INSERTs are sent in JDBC batches.
+     */
+    @Transactional
+    public List<Item> createItems(List<Item> items, Long ownerId) {
+        userService.getUserById(ownerId);
+        List<Item> createdItems = itemRepository.saveAll(items);
+        createdItems.forEach(item -> eventPublisher.publishEvent(new ItemSavedEvent(item)));
+        log.info("{} items created for owner {}", createdItems.size(), ownerId);
+        return createdItems;
+    }
+
     public Item getItemById(Long id) {
         return itemRepository.findById(id)
                 .orElseThrow(() -> new ItemNotFoundException("Item not found with id: " + id));
     }
 
+    /**
+     * Loads the item and locks its row until the current transaction ends.
+     */
+    @Transactional
+    public Item lockItem(Long id) {
+        return itemRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new ItemNotFoundException("Item not found with id: " + id));
+    }
+
+    /**
+     * Loads the given items and locks their rows until the current transaction ends.
+     */
+    @Transactional
+    public List<Item> lockItems(Collection<Long> ids) {
+        return itemRepository.findAllByIdForUpdate(ids);
+    }
+
+    /**
+     * Locks the row of the booked item, if the booking exists, until the current transaction ends.
+     */
+    @Transactional
+    public void lockItemOfBooking(Long bookingId) {
+        itemRepository.findByBookingIdForUpdate(bookingId);
+    }
+
     public List<Item> getItemsByOwner(Long ownerId) {
         log.debug("Getting items for owner: {}", ownerId);
         userService.getUserById(ownerId);
@@ -65,24 +121,58 @@ public class ItemService {
             existingItem.setAvailable(itemUpdates.getAvailable());
         }
 
-        return itemRepository.save(existingItem);
+        Item updatedItem = itemRepository.save(existingItem);
+        eventPublisher.publishEvent(new ItemSavedEvent(updatedItem));
+        return updatedItem;
     }
 
-    public List<Item> searchItems(String text) {
+    public List<Item> searchItems(String text, int from, int size) {
         log.debug("Searching items with text: '{}'", text);
         if (text == null || text.isBlank()) {
             return List.of();
         }
-        return itemRepository.searchAvailableItems(text);
+        ItemSearchEvent event = ItemSearchEvent.start(text, false, from, size);
+        return event.finished(getItemsInOrder(itemSearchEngine.search(text, from, size)));
+    }
+
+    public List<Item> fuzzySearchItems(String text, int from, int size) {
+        log.debug("Fuzzy searching items with text: '{}'", text);
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        ItemSearchEvent event = ItemSearchEvent.start(text, true, from, size);
+        return event.finished(getItemsInOrder(fuzzyItemSearch.search(text, from, size)));
     }
 
     @Transactional
     public void deleteItem(Long id) {
         itemRepository.deleteById(id);
+        eventPublisher.publishEvent(new ItemDeletedEvent(id));
         log.info("Item deleted: {}", id);
     }
 
     public List<Item> getItemsByRequestId(Long requestId) {
         return itemRepository.findByRequestId(requestId);
     }
+
+    public Map<Long, List<Item>> getItemsByRequestIds(Collection<Long> requestIds) {
+        if (requestIds.isEmpty()) {
+            return Map.of();
+        }
+        return itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+    }
+
+    // The in-memory indexes miss availability changes made on other instances, the query re-checks it
+    private List<Item> getItemsInOrder(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> items = itemRepository.findByIdInAndAvailableTrue(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return itemIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.item;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ReactiveItemRepository;
+
+/**
+ * Non-blocking variant of GET /items/search, see {@link ReactiveItemRepository} for how results are
+ * matched. Answers with a JSON array, or streams {@code application/x-ndjson} with backpressure.
+ */
+@Slf4j
+@RestController
+@RequestMapping(path = "/reactive/items")
+@Validated
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class ReactiveItemController {
+    private final ReactiveItemRepository itemRepository;
+
+    public ReactiveItemController(ReactiveItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @GetMapping("/search")
+    public Flux<ItemDto> searchItems(@RequestParam String text,
+                                     @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                     @RequestParam(defaultValue = "10") @Positive
+                                     @Max(ItemController.MAX_SEARCH_PAGE_SIZE) int size) {
+        log.debug("Streaming items for search '{}'", text);
+        if ((long) from + size > Integer.MAX_VALUE) {
+            throw new ValidationException("from + size must not exceed " + Integer.MAX_VALUE);
+        }
+        return itemRepository.searchAvailableItems(text, from, size);
+    }
+}
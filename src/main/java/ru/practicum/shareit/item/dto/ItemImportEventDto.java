@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One line of the item import response: a rejected row, progress after a written batch, or the final summary.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportEventDto {
+    private Type type;
+    // Line of the rejected row in the uploaded file, counting from 1
+    private Long row;
+    private String message;
+    private Long rowsRead;
+    private Long imported;
+    private Long failed;
+
+    public enum Type {
+        ERROR,
+        PROGRESS,
+        SUMMARY
+    }
+}
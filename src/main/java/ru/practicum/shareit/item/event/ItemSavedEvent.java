@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.model.Item;
+
+@Getter
+@AllArgsConstructor
+public class ItemSavedEvent {
+    private final Item item;
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * CSV with a header row naming the {@code name}, {@code description} and {@code available} columns
+ * in any order, other columns are ignored.
+ */
+class CsvItemRowReader implements ItemRowReader {
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final MappingIterator<String[]> rows;
+    private final int nameColumn;
+    private final int descriptionColumn;
+    private final int availableColumn;
+    private final int columnCount;
+    private long line = 1;
+
+    CsvItemRowReader(InputStream input) throws IOException {
+        this.rows = CSV_MAPPER.readerForArrayOf(String.class)
+                .with(CsvParser.Feature.WRAP_AS_ARRAY)
+                .readValues(new InputStreamReader(input, StandardCharsets.UTF_8));
+        if (!rows.hasNextValue()) {
+            throw new ValidationException("CSV header row is missing");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        String[] header = rows.nextValue();
+        for (int i = 0; i < header.length; i++) {
+            columns.putIfAbsent(header[i].trim().toLowerCase(Locale.ROOT), i);
+        }
+        this.nameColumn = requireColumn(columns, "name");
+        this.descriptionColumn = requireColumn(columns, "description");
+        this.availableColumn = requireColumn(columns, "available");
+        this.columnCount = Math.max(nameColumn, Math.max(descriptionColumn, availableColumn)) + 1;
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        if (!rows.hasNextValue()) {
+            return null;
+        }
+        String[] values = rows.nextValue();
+        line++;
+        if (values.length < columnCount) {
+            return ItemRow.failed(line, "Expected at least " + columnCount + " columns, found " + values.length);
+        }
+
+        String available = values[availableColumn].trim();
+        Boolean parsedAvailable = null;
+        if (available.equalsIgnoreCase("true") || available.equalsIgnoreCase("false")) {
+            parsedAvailable = Boolean.valueOf(available);
+        } else if (!available.isEmpty()) {
+            return ItemRow.failed(line, "Available must be true or false, found: " + available);
+        }
+        return ItemRow.of(line, new ItemDto(null, values[nameColumn], values[descriptionColumn], parsedAvailable,
+                null, null, null, null));
+    }
+
+    @Override
+    public void close() throws IOException {
+        rows.close();
+    }
+
+    private static int requireColumn(Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null) {
+            throw new ValidationException("CSV header has no '" + name + "' column");
+        }
+        return index;
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.importer;
+
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.exception.ValidationException;
+
+public enum ItemImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    ItemImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static ItemImportFormat fromContentType(String contentType) {
+        MediaType type = MediaType.parseMediaType(contentType);
+        for (ItemImportFormat format : values()) {
+            if (MediaType.parseMediaType(format.mediaType).isCompatibleWith(type)) {
+                return format;
+            }
+        }
+        throw new ValidationException("Unsupported import format: " + contentType);
+    }
+}
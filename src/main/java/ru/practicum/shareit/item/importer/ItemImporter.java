@@ -0,0 +1,150 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportEventDto;
+import ru.practicum.shareit.item.dto.ItemImportEventDto.Type;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Imports items from a CSV or NDJSON stream. Rows are read one at a time, validated like the body of
+ * POST /items and written in batches of {@code shareit.items.import.batch-size}, each batch in its own
+ * transaction. Rejected rows and per-batch progress are reported to the listener as they happen, so
+ * memory use does not depend on the size of the file.
+ */
+@Slf4j
+@Component
+public class ItemImporter {
+    private final ItemService itemService;
+    private final ItemMapper itemMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public ItemImporter(ItemService itemService, ItemMapper itemMapper, Validator validator,
+                        ObjectMapper objectMapper, @Value("${shareit.items.import.batch-size:500}") int batchSize) {
+        this.itemService = itemService;
+        this.itemMapper = itemMapper;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Imports every valid row of the input for the owner and returns the summary, which is also the
+     * last event passed to the listener. Rows already written stay written if the import stops early.
+     */
+    public ItemImportEventDto importItems(InputStream input, ItemImportFormat format, User owner,
+                                          Consumer<ItemImportEventDto> listener) {
+        Progress progress = new Progress(owner, listener);
+        try (ItemRowReader rows = openReader(input, format)) {
+            ItemRow row;
+            while ((row = rows.next()) != null) {
+                progress.rowsRead++;
+                String error = row.getError() != null ? row.getError() : validate(row.getItem());
+                if (error != null) {
+                    progress.reject(row.getLine(), error);
+                    continue;
+                }
+                progress.add(row.getLine(), itemMapper.toItem(row.getItem(), owner));
+            }
+            progress.flush();
+        } catch (IOException | ValidationException e) {
+            // The rest of the file is unreadable, keep what was imported so far
+            progress.flush();
+            listener.accept(new ItemImportEventDto(Type.ERROR, null, "Import stopped: " + e.getMessage(),
+                    null, null, null));
+        }
+
+        ItemImportEventDto summary = progress.event(Type.SUMMARY);
+        listener.accept(summary);
+        log.info("Imported {} of {} items for owner {}, {} rejected",
+                summary.getImported(), summary.getRowsRead(), owner.getId(), summary.getFailed());
+        return summary;
+    }
+
+    private ItemRowReader openReader(InputStream input, ItemImportFormat format) throws IOException {
+        return format == ItemImportFormat.CSV
+                ? new CsvItemRowReader(input)
+                : new NdjsonItemRowReader(input, objectMapper);
+    }
+
+    private String validate(ItemDto item) {
+        if (item == null) {
+            return "Expected a JSON object";
+        }
+        Set<ConstraintViolation<ItemDto>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .reduce((first, second) -> first + "; " + second)
+                .orElseThrow();
+    }
+
+    private class Progress {
+        private final User owner;
+        private final Consumer<ItemImportEventDto> listener;
+        private final List<Item> batch = new ArrayList<>(batchSize);
+        private final List<Long> batchLines = new ArrayList<>(batchSize);
+        private long rowsRead;
+        private long imported;
+        private long failed;
+
+        Progress(User owner, Consumer<ItemImportEventDto> listener) {
+            this.owner = owner;
+            this.listener = listener;
+        }
+
+        void add(long line, Item item) {
+            batch.add(item);
+            batchLines.add(line);
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void reject(Long line, String message) {
+            failed++;
+            listener.accept(new ItemImportEventDto(Type.ERROR, line, message, null, null, null));
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                itemService.createItems(batch, owner.getId());
+                imported += batch.size();
+            } catch (RuntimeException e) {
+                log.warn("Item import batch of {} rows failed", batch.size(), e);
+                batchLines.forEach(line -> reject(line, "Batch could not be saved: " + e.getMessage()));
+            }
+            batch.clear();
+            batchLines.clear();
+            listener.accept(event(Type.PROGRESS));
+        }
+
+        ItemImportEventDto event(Type type) {
+            return new ItemImportEventDto(type, null, null, rowsRead, imported, failed);
+        }
+    }
+}
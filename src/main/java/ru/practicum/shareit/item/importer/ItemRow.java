@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.importer;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * A parsed row of an import file: either an item or the reason it could not be read.
+ */
+@Getter
+@AllArgsConstructor
+class ItemRow {
+    private final long line;
+    private final ItemDto item;
+    private final String error;
+
+    static ItemRow of(long line, ItemDto item) {
+        return new ItemRow(line, item, null);
+    }
+
+    static ItemRow failed(long line, String error) {
+        return new ItemRow(line, null, error);
+    }
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads an import file one row at a time, so that only the current row is held in memory.
+ */
+interface ItemRowReader extends Closeable {
+
+    /**
+     * Returns the next row, or {@code null} at the end of the file. Throws only when the rest of the
+     * file cannot be read any more, a row that merely fails to parse is returned as failed.
+     */
+    ItemRow next() throws IOException;
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One JSON object per line, blank lines are skipped. Any other JSON value, {@code null} included, is a
+ * rejected row.
+ */
+class NdjsonItemRowReader implements ItemRowReader {
+    private final BufferedReader reader;
+    private final ObjectReader itemReader;
+    private long line;
+
+    NdjsonItemRowReader(InputStream input, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.itemReader = objectMapper.readerFor(ItemDto.class);
+    }
+
+    @Override
+    public ItemRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        try {
+            JsonNode node = itemReader.readTree(text);
+            if (node == null || !node.isObject()) {
+                return ItemRow.failed(line, "Expected a JSON object");
+            }
+            return ItemRow.of(line, itemReader.readValue(node));
+        } catch (JsonProcessingException e) {
+            return ItemRow.failed(line, "Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
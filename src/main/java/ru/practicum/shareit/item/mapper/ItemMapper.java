@@ -28,9 +28,12 @@ public class ItemMapper {
         return dto;
     }
 
+    /**
+     * Maps the body of a new item. A client id is ignored: it would turn the INSERT into a merge over the
+     * existing item with that id and move it to {@code owner}.
+     */
     public Item toItem(ItemDto itemDto, User owner) {
         Item item = new Item();
-        item.setId(itemDto.getId());
         item.setName(itemDto.getName());
         item.setDescription(itemDto.getDescription());
         item.setAvailable(itemDto.getAvailable());
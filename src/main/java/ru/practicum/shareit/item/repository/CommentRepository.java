@@ -1,14 +1,31 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemIdOrderByCreatedDesc(Long itemId);
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemIdInOrderByCreatedDesc(List<Long> itemIds);
-}
\ No newline at end of file
+
+    @Query("SELECT c FROM Comment c " +
+            "JOIN FETCH c.author " +
+            "WHERE c.id IN (" +
+            "SELECT r.id FROM (" +
+            "SELECT lc.id AS id, " +
+            "ROW_NUMBER() OVER (PARTITION BY lc.item.id ORDER BY lc.created DESC, lc.id DESC) AS rn " +
+            "FROM Comment lc " +
+            "WHERE lc.item.id IN :itemIds) r " +
+            "WHERE r.rn <= :limit) " +
+            "ORDER BY c.created DESC, c.id DESC")
+    List<Comment> findLatestByItemIds(Collection<Long> itemIds, int limit);
+}
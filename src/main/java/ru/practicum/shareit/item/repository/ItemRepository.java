@@ -1,21 +1,57 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
     List<Item> findByOwnerIdOrderById(Long ownerId);
 
-    @Query("SELECT i FROM Item i " +
-            "WHERE i.available = true " +
-            "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> searchAvailableItems(String text);
+    @Query("SELECT i.id FROM Item i WHERE i.owner.id = :ownerId")
+    List<Long> findIdsByOwnerId(Long ownerId);
+
+    @Query("SELECT i.id FROM Item i WHERE i.request.requestor.id = :requestorId")
+    List<Long> findIdsAnsweringRequestsOf(Long requestorId);
+
+    // Serializes booking changes of one item (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    // Ordered by id so that transactions locking several items cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :ids ORDER BY i.id")
+    List<Item> findAllByIdForUpdate(Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = (SELECT b.item.id FROM Booking b WHERE b.id = :bookingId)")
+    Optional<Item> findByBookingIdForUpdate(Long bookingId);
+
+    @Query(value = "SELECT id FROM items " +
+            "WHERE is_available = true " +
+            "AND search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(search_vector, to_tsquery('simple', :query)) DESC, id " +
+            "LIMIT :size OFFSET :from", nativeQuery = true)
+    List<Long> searchAvailableItemIds(String query, int from, int size);
+
+    List<Item> findByIdInAndAvailableTrue(Collection<Long> ids);
+
+    // Keyset page of the indexed fields, no entities are loaded (and none enter the second-level cache)
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemSearchDto(i.id, i.name, i.description, i.available) " +
+            "FROM Item i WHERE i.id > :afterId ORDER BY i.id")
+    List<ItemSearchDto> findSearchFieldsAfter(Long afterId, Pageable pageable);
 
     List<Item> findByRequestId(Long requestId);
+
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
 }
\ No newline at end of file
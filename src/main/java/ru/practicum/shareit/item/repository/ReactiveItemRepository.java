@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.repository;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import ru.practicum.shareit.common.r2dbc.ReactiveReadDatabase;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.search.ItemSearchTokenizer;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Item search of /items/search read through R2DBC. On PostgreSQL it runs the same full-text query as
+ * {@link ItemRepository#searchAvailableItemIds}. On H2, which has no full-text search, every token must
+ * start a word of the name or description as with the in-memory engine, but results come in id order.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class ReactiveItemRepository {
+    private static final String SELECT = "SELECT id, name, description, is_available, request_id FROM items " +
+            "WHERE is_available = true ";
+    private static final String POSTGRES_SEARCH = SELECT +
+            "AND search_vector @@ to_tsquery('simple', :query) " +
+            "ORDER BY ts_rank(search_vector, to_tsquery('simple', :query)) DESC, id " +
+            "LIMIT :size OFFSET :from";
+    private static final String WORD_START = "(^|[^\\p{L}\\p{N}])";
+
+    private final DatabaseClient client;
+    private final boolean postgres;
+
+    public ReactiveItemRepository(ReactiveReadDatabase database) {
+        this.client = database.client();
+        this.postgres = database.isPostgres();
+    }
+
+    public Flux<ItemDto> searchAvailableItems(String text, int from, int size) {
+        List<String> tokens = ItemSearchTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return Flux.empty();
+        }
+        DatabaseClient.GenericExecuteSpec query = postgres ? postgresQuery(tokens) : wordPrefixQuery(tokens);
+        return query.bind("size", size)
+                .bind("from", from)
+                .map(ReactiveItemRepository::toItemDto)
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec postgresQuery(List<String> tokens) {
+        String query = tokens.stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+        return client.sql(POSTGRES_SEARCH).bind("query", query);
+    }
+
+    private DatabaseClient.GenericExecuteSpec wordPrefixQuery(List<String> tokens) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        for (int i = 0; i < tokens.size(); i++) {
+            sql.append("AND REGEXP_LIKE(LOWER(name || ' ' || description), :token").append(i).append(") ");
+        }
+        sql.append("ORDER BY id LIMIT :size OFFSET :from");
+        DatabaseClient.GenericExecuteSpec query = client.sql(sql.toString());
+        for (int i = 0; i < tokens.size(); i++) {
+            // Tokens consist of letters and digits only, so they need no escaping
+            query = query.bind("token" + i, WORD_START + tokens.get(i));
+        }
+        return query;
+    }
+
+    private static ItemDto toItemDto(Readable row) {
+        ItemDto item = new ItemDto();
+        item.setId(row.get("id", Long.class));
+        item.setName(row.get("name", String.class));
+        item.setDescription(row.get("description", String.class));
+        item.setAvailable(row.get("is_available", Boolean.class));
+        item.setRequestId(row.get("request_id", Long.class));
+        return item;
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Typo-tolerant search over available items with an LRU cache of recent results.
+ * The cache is dropped whenever the set of searchable words changes.
+ */
+@Component
+public class FuzzyItemSearch {
+    private final TrigramIndex index;
+    private final Map<String, List<Long>> cache;
+    // Bumped on every index change so a result computed concurrently with a change is not cached stale
+    private final AtomicLong generation = new AtomicLong();
+
+    public FuzzyItemSearch(@Value("${shareit.search.fuzzy.similarity:0.3}") double similarityThreshold,
+                           @Value("${shareit.search.fuzzy.cache-size:1000}") int cacheSize) {
+        this.index = new TrigramIndex(similarityThreshold);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Long>> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public List<Long> search(String text, int from, int size) {
+        String key = String.join(" ", ItemSearchTokenizer.tokenize(text)) + "|" + from + "|" + size;
+        List<Long> cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long searchedAt = generation.get();
+        List<Long> itemIds = List.copyOf(index.search(text, from, size));
+        synchronized (cache) {
+            if (generation.get() == searchedAt) {
+                cache.put(key, itemIds);
+            }
+        }
+        return itemIds;
+    }
+
+    public void index(ItemSearchDto item) {
+        boolean changed = Boolean.TRUE.equals(item.getAvailable())
+                ? index.index(item.getId(), item.getName(), item.getDescription())
+                : index.remove(item.getId());
+        if (changed) {
+            invalidate();
+        }
+    }
+
+    public void remove(Long itemId) {
+        if (index.remove(itemId)) {
+            invalidate();
+        }
+    }
+
+    private void invalidate() {
+        synchronized (cache) {
+            generation.incrementAndGet();
+            cache.clear();
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+}
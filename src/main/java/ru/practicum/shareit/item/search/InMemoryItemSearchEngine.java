@@ -0,0 +1,120 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded inverted index for H2 and standalone runs, filled by {@link ItemSearchIndexer}.
+ * Only available items are indexed. Query tokens match indexed tokens by prefix, all tokens
+ * must match, and results are ranked by tf-idf with name matches weighted above description matches.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+    @Override
+    public List<Long> search(String text, int from, int size) {
+        List<String> tokens = ItemSearchTokenizer.tokenize(text);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = score(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((itemId, score) -> score + tokenScores.get(itemId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .skip(from)
+                    .limit(size)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(ItemSearchDto item) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(item.getId());
+            if (!Boolean.TRUE.equals(item.getAvailable())) {
+                return;
+            }
+            Map<String, Integer> terms = new HashMap<>();
+            ItemSearchTokenizer.tokenize(item.getName()).forEach(token -> terms.merge(token, NAME_WEIGHT, Integer::sum));
+            ItemSearchTokenizer.tokenize(item.getDescription())
+                    .forEach(token -> terms.merge(token, DESCRIPTION_WEIGHT, Integer::sum));
+            terms.forEach((token, weight) -> postings.computeIfAbsent(token, key -> new HashMap<>())
+                    .put(item.getId(), weight));
+            documents.put(item.getId(), terms);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the read lock
+    private Map<Long, Double> score(String prefix) {
+        Map<Long, Double> scores = new HashMap<>();
+        postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values().forEach(itemWeights -> {
+            double idf = Math.log(1 + (double) documents.size() / itemWeights.size());
+            itemWeights.forEach((itemId, weight) -> scores.merge(itemId, weight * idf, Math::max));
+        });
+        return scores;
+    }
+
+    // Caller must hold the write lock
+    private void removeDocument(Long itemId) {
+        Map<String, Integer> terms = documents.remove(itemId);
+        if (terms == null) {
+            return;
+        }
+        terms.keySet().forEach(token -> {
+            Map<Long, Integer> itemWeights = postings.get(token);
+            itemWeights.remove(itemId);
+            if (itemWeights.isEmpty()) {
+                postings.remove(token);
+            }
+        });
+    }
+}
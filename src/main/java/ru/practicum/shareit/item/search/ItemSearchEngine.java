@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemSearchDto;
+
+import java.util.List;
+
+/**
+ * Full-text search over available items. Implementations return item ids ordered by relevance.
+ */
+public interface ItemSearchEngine {
+
+    List<Long> search(String text, int from, int size);
+
+    void index(ItemSearchDto item);
+
+    void remove(Long itemId);
+}
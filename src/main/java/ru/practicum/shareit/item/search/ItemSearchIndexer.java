@@ -0,0 +1,73 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemSearchDto;
+import ru.practicum.shareit.item.event.ItemDeletedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.List;
+
+/**
+ * Keeps the search indexes in sync with the items table: loads every item on startup, reading the
+ * indexed fields in id order keyset pages, and applies committed item changes afterwards, including
+ * the items deleted along with their owner.
+ * Rolled back changes never reach the indexes. The changes come from this instance only: with
+ * several instances the in-memory indexes ({@link InMemoryItemSearchEngine} and the fuzzy index,
+ * which is in use in every profile) miss items created, changed or deleted on the others until the
+ * next restart. The PostgreSQL engine reads the table and is not affected.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndexer {
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private final ItemRepository itemRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final FuzzyItemSearch fuzzyItemSearch;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        PageRequest batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        List<ItemSearchDto> items = itemRepository.findSearchFieldsAfter(0L, batch);
+        while (!items.isEmpty()) {
+            items.forEach(this::index);
+            items = itemRepository.findSearchFieldsAfter(items.get(items.size() - 1).getId(), batch);
+        }
+        log.info("Item search indexes built, {} items searchable", fuzzyItemSearch.size());
+    }
+
+    @TransactionalEventListener
+    public void onItemSaved(ItemSavedEvent event) {
+        Item item = event.getItem();
+        index(new ItemSearchDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable()));
+    }
+
+    @TransactionalEventListener
+    public void onItemDeleted(ItemDeletedEvent event) {
+        itemSearchEngine.remove(event.getItemId());
+        fuzzyItemSearch.remove(event.getItemId());
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        event.getOwnedItemIds().forEach(itemId -> {
+            itemSearchEngine.remove(itemId);
+            fuzzyItemSearch.remove(itemId);
+        });
+    }
+
+    private void index(ItemSearchDto item) {
+        itemSearchEngine.index(item);
+        fuzzyItemSearch.index(item);
+    }
+}
@@ -0,0 +1,223 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Typo-tolerant index over item words. Words are transliterated to Latin and split into
+ * pg_trgm style trigrams; a query word matches every indexed word whose trigram (Jaccard)
+ * similarity reaches the threshold. Trigrams point at distinct words rather than items,
+ * so a lookup only scans the vocabulary, not the catalog.
+ */
+public class TrigramIndex {
+    private static final Map<Character, String> TRANSLITERATION = transliteration();
+
+    private final double similarityThreshold;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Set<String>> wordsByTrigram = new HashMap<>();
+    private final Map<String, Set<Long>> itemsByWord = new HashMap<>();
+    private final Map<Long, String[]> wordsByItem = new HashMap<>();
+
+    public TrigramIndex(double similarityThreshold) {
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    /**
+     * Replaces the indexed words of an item.
+     *
+     * @return whether the words of the item changed
+     */
+    public boolean index(Long itemId, String... texts) {
+        String[] words = Arrays.stream(texts)
+                .flatMap(text -> ItemSearchTokenizer.tokenize(text).stream())
+                .map(TrigramIndex::normalize)
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+
+        lock.writeLock().lock();
+        try {
+            String[] previous = wordsByItem.get(itemId);
+            if (previous != null && Set.of(previous).equals(Set.of(words))) {
+                return false;
+            }
+            removeItem(itemId);
+            for (String word : words) {
+                Set<Long> items = itemsByWord.get(word);
+                if (items == null) {
+                    items = new HashSet<>();
+                    itemsByWord.put(word, items);
+                    trigrams(word).forEach(trigram -> wordsByTrigram.computeIfAbsent(trigram, key -> new HashSet<>())
+                            .add(word));
+                }
+                items.add(itemId);
+            }
+            wordsByItem.put(itemId, words);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether the item was indexed
+     */
+    public boolean remove(Long itemId) {
+        lock.writeLock().lock();
+        try {
+            return removeItem(itemId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return wordsByItem.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Every query word must match some word of an item. Items are ranked by the sum of the best
+     * similarity per query word, ties broken by id.
+     */
+    public List<Long> search(String text, int from, int size) {
+        Set<String> queryWords = ItemSearchTokenizer.tokenize(text).stream()
+                .map(TrigramIndex::normalize)
+                .filter(word -> !word.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = null;
+            for (String queryWord : queryWords) {
+                Map<Long, Double> wordScores = score(queryWord);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((itemId, score) -> score + wordScores.get(itemId));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            return topRanked(scores, from, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keeps only the first from + size entries instead of sorting every matching item. The heap is not
+    // presized, from and size come from the request and may be far larger than the number of matches
+    private static List<Long> topRanked(Map<Long, Double> scores, int from, int size) {
+        if (from >= scores.size()) {
+            return List.of();
+        }
+        Comparator<Map.Entry<Long, Double>> ranking = Map.Entry.<Long, Double>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey());
+        long limit = Math.min((long) from + size, scores.size());
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(ranking.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.add(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(ranking);
+        return ranked.stream()
+                .skip(from)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+    }
+
+    static String normalize(String word) {
+        StringBuilder normalized = new StringBuilder(word.length());
+        for (char c : word.toCharArray()) {
+            normalized.append(TRANSLITERATION.getOrDefault(c, String.valueOf(c)));
+        }
+        return normalized.toString();
+    }
+
+    static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    // Caller must hold the read lock
+    private Map<Long, Double> score(String queryWord) {
+        Set<String> queryTrigrams = trigrams(queryWord);
+        Map<String, Integer> sharedTrigrams = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            Set<String> words = wordsByTrigram.get(trigram);
+            if (words != null) {
+                words.forEach(word -> sharedTrigrams.merge(word, 1, Integer::sum));
+            }
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        sharedTrigrams.forEach((word, shared) -> {
+            double similarity = (double) shared / (queryTrigrams.size() + trigrams(word).size() - shared);
+            if (similarity >= similarityThreshold) {
+                itemsByWord.get(word).forEach(itemId -> scores.merge(itemId, similarity, Math::max));
+            }
+        });
+        return scores;
+    }
+
+    // Caller must hold the write lock
+    private boolean removeItem(Long itemId) {
+        String[] words = wordsByItem.remove(itemId);
+        if (words == null) {
+            return false;
+        }
+        for (String word : words) {
+            Set<Long> items = itemsByWord.get(word);
+            items.remove(itemId);
+            if (items.isEmpty()) {
+                itemsByWord.remove(word);
+                for (String trigram : trigrams(word)) {
+                    Set<String> trigramWords = wordsByTrigram.get(trigram);
+                    trigramWords.remove(word);
+                    if (trigramWords.isEmpty()) {
+                        wordsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Map<Character, String> transliteration() {
+        String cyrillic = "абвгдеёжзийклмнопрстуфхцчшщъыьэюя";
+        String[] latin = {"a", "b", "v", "g", "d", "e", "e", "zh", "z", "i", "i", "k", "l", "m", "n", "o", "p",
+            "r", "s", "t", "u", "f", "h", "ts", "ch", "sh", "sch", "", "y", "", "e", "yu", "ya"};
+        Map<Character, String> transliteration = new HashMap<>();
+        for (int i = 0; i < cyrillic.length(); i++) {
+            transliteration.put(cyrillic.charAt(i), latin[i]);
+        }
+        return transliteration;
+    }
+}
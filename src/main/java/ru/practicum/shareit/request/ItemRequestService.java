@@ -16,6 +16,8 @@ import ru.practicum.shareit.user.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -50,10 +52,7 @@ public class ItemRequestService {
     public List<ItemRequest> getUserRequests(Long requestorId) {
         userService.getUserById(requestorId);
         List<ItemRequest> requests = itemRequestRepository.findByRequestorIdOrderByCreatedDesc(requestorId);
-        requests.forEach(request -> {
-            List<Item> items = itemService.getItemsByRequestId(request.getId());
-            request.setItems(items);
-        });
+        fillItems(requests);
         return requests;
     }
 
@@ -61,10 +60,7 @@ public class ItemRequestService {
         userService.getUserById(userId);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
         List<ItemRequest> requests = itemRequestRepository.findByRequestorIdNotOrderByCreatedDesc(userId, pageable);
-        requests.forEach(request -> {
-            List<Item> items = itemService.getItemsByRequestId(request.getId());
-            request.setItems(items);
-        });
+        fillItems(requests);
         return requests;
     }
 
@@ -78,4 +74,12 @@ public class ItemRequestService {
 
         return request;
     }
+
+    private void fillItems(List<ItemRequest> requests) {
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequest::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> itemsByRequest = itemService.getItemsByRequestIds(requestIds);
+        requests.forEach(request -> request.setItems(itemsByRequest.getOrDefault(request.getId(), List.of())));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+package ru.practicum.shareit.seed;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fills the database with a synthetic, skewed dataset on startup when {@code shareit.seed.enabled=true}:
+ * power owners listing most items, hot items with long booking histories, comments on finished
+ * bookings. Rows are written with plain JDBC batches (multi-row INSERTs on PostgreSQL thanks to
+ * {@code reWriteBatchedInserts}) before the search indexes are built, so seeded items are searchable.
+ * Seeded users get run-specific emails, so seeding an existing database adds to it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.seed.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class DataSeeder implements ApplicationRunner {
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_BOOKING_HOURS = 72;
+    private static final int MAX_GAP_HOURS = 48;
+    // Average booking plus gap, used to let every history end shortly after now
+    private static final int AVERAGE_SLOT_HOURS = (MAX_BOOKING_HOURS + MAX_GAP_HOURS) / 2;
+    private static final String[] ADJECTIVES = {"Cordless", "Electric", "Folding", "Portable", "Heavy", "Compact",
+        "Vintage", "Inflatable", "Professional", "Kids"};
+    private static final String[] NOUNS = {"drill", "saw", "ladder", "hammer", "tent", "bike", "camera",
+        "projector", "kayak", "mixer", "sander", "grill", "speaker", "scooter", "telescope"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SeedProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed();
+    }
+
+    public void seed() {
+        long started = System.nanoTime();
+        Random random = new Random(properties.getRandomSeed());
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        String run = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+        long[] users = insertReturningIds("INSERT INTO users (name, email) VALUES (?, ?)",
+                properties.getUsers(), (ps, i) -> {
+                    ps.setString(1, "Seed user " + i);
+                    ps.setString(2, "seed-" + run + "-" + i + "@example.com");
+                });
+        long[] requests = insertReturningIds(
+                "INSERT INTO requests (description, requestor_id, created) VALUES (?, ?, ?)",
+                properties.getRequests(), (ps, i) -> {
+                    ps.setString(1, "Looking for a " + NOUNS[random.nextInt(NOUNS.length)] + " for the weekend");
+                    ps.setLong(2, users[random.nextInt(users.length)]);
+                    ps.setTimestamp(3, Timestamp.valueOf(now.minusHours(random.nextInt(24 * 365))));
+                });
+        long[] itemOwners = new long[properties.getItems()];
+        long[] items = insertReturningIds(
+                "INSERT INTO items (name, description, is_available, owner_id, request_id) VALUES (?, ?, ?, ?, ?)",
+                properties.getItems(), (ps, i) -> {
+                    String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+                    String noun = NOUNS[random.nextInt(NOUNS.length)];
+                    itemOwners[i] = users[skewedIndex(random, users.length, properties.getOwnerSkew())];
+                    ps.setString(1, adjective + " " + noun + " " + i);
+                    ps.setString(2, adjective + " " + noun + ", well kept, pick up in person");
+                    ps.setBoolean(3, random.nextInt(10) > 0);
+                    ps.setLong(4, itemOwners[i]);
+                    if (requests.length > 0 && random.nextDouble() < properties.getRequestedItemRate()) {
+                        ps.setLong(5, requests[random.nextInt(requests.length)]);
+                    } else {
+                        ps.setObject(5, null);
+                    }
+                });
+        long[] counts = insertBookings(random, now, users, items, itemOwners);
+
+        double seconds = (System.nanoTime() - started) / 1e9;
+        long rows = users.length + requests.length + items.length + counts[0] + counts[1];
+        log.info("Seeded {} users, {} requests, {} items, {} bookings, {} comments in {}s ({} rows/s)",
+                users.length, requests.length, items.length, counts[0], counts[1],
+                String.format("%.1f", seconds), String.format("%.0f", rows / seconds));
+    }
+
+    /**
+     * Spreads the bookings over the items by popularity and lays out every item's bookings one after
+     * another, so they never overlap and the history of a hot item reaches far into the past.
+     */
+    private long[] insertBookings(Random random, LocalDateTime now, long[] users, long[] items, long[] itemOwners) {
+        int[] bookingsPerItem = new int[items.length];
+        for (int i = 0; i < properties.getBookings() && items.length > 0; i++) {
+            bookingsPerItem[skewedIndex(random, items.length, properties.getItemSkew())]++;
+        }
+
+        List<Object[]> bookings = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> comments = new ArrayList<>(BATCH_SIZE);
+        long bookingCount = 0;
+        long commentCount = 0;
+        for (int item = 0; item < items.length; item++) {
+            LocalDateTime start = now.minusHours((long) (bookingsPerItem[item] * AVERAGE_SLOT_HOURS * 0.9));
+            for (int b = 0; b < bookingsPerItem[item]; b++) {
+                start = start.plusHours(random.nextInt(MAX_GAP_HOURS + 1));
+                LocalDateTime end = start.plusHours(1 + random.nextInt(MAX_BOOKING_HOURS));
+                long booker = users[skewedIndex(random, users.length, properties.getBookerSkew())];
+                if (booker == itemOwners[item]) {
+                    booker = users[random.nextInt(users.length)];
+                }
+                BookingStatus status = statusOf(random, start, end, now);
+                bookings.add(new Object[]{start, end, items[item], booker, itemOwners[item], status.name()});
+                if (status == BookingStatus.APPROVED && end.isBefore(now)
+                        && random.nextDouble() < properties.getCommentRate()) {
+                    comments.add(new Object[]{"Worked fine, thanks!", items[item], booker,
+                            end.plusHours(1 + random.nextInt(48))});
+                }
+                start = end;
+
+                if (bookings.size() == BATCH_SIZE) {
+                    bookingCount += flush("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, "
+                            + "status) VALUES (?, ?, ?, ?, ?, ?)", bookings);
+                }
+                if (comments.size() == BATCH_SIZE) {
+                    commentCount += flush("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                            comments);
+                }
+            }
+        }
+        bookingCount += flush("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+        commentCount += flush("INSERT INTO comments (text, item_id, author_id, created) VALUES (?, ?, ?, ?)",
+                comments);
+        return new long[]{bookingCount, commentCount};
+    }
+
+    private BookingStatus statusOf(Random random, LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+        int roll = random.nextInt(10);
+        if (end.isBefore(now)) {
+            return roll < 8 ? BookingStatus.APPROVED : roll < 9 ? BookingStatus.REJECTED : BookingStatus.CANCELED;
+        }
+        if (start.isAfter(now)) {
+            return roll < 5 ? BookingStatus.WAITING : BookingStatus.APPROVED;
+        }
+        return BookingStatus.APPROVED;
+    }
+
+    private int flush(String sql, List<Object[]> rows) {
+        int size = rows.size();
+        if (size > 0) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+        return size;
+    }
+
+    private long[] insertReturningIds(String sql, int rows, RowWriter writer) {
+        long[] ids = new long[rows];
+        for (int from = 0; from < rows; from += BATCH_SIZE) {
+            int offset = from;
+            int size = Math.min(BATCH_SIZE, rows - from);
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            writer.write(ps, offset + i);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    }, keys);
+            List<Map<String, Object>> keyList = keys.getKeyList();
+            for (int i = 0; i < size; i++) {
+                ids[offset + i] = ((Number) keyList.get(i).values().iterator().next()).longValue();
+            }
+        }
+        return ids;
+    }
+
+    // Index in [0, size), skew 1 is uniform and higher values favour the low indexes
+    private static int skewedIndex(Random random, int size, double skew) {
+        return (int) (size * Math.pow(random.nextDouble(), skew));
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(PreparedStatement ps, int row) throws SQLException;
+    }
+}
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.seed;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Size and shape of the synthetic dataset written by {@link DataSeeder}. A skew of 1 picks uniformly,
+ * larger values concentrate picks on the first rows: with an owner skew of 3 the first 10% of users
+ * own about 46% of the items.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit.seed")
+public class SeedProperties {
+    private boolean enabled;
+    private int users = 10_000;
+    private int requests = 5_000;
+    private int items = 50_000;
+    private int bookings = 500_000;
+    /** Share of finished approved bookings the booker comments on. */
+    private double commentRate = 0.1;
+    /** Share of items created in answer to a request. */
+    private double requestedItemRate = 0.2;
+    /** Few power owners list most of the items. */
+    private double ownerSkew = 3.0;
+    /** Few hot items collect most of the bookings and get the longest histories. */
+    private double itemSkew = 2.0;
+    /** Some users book far more often than others. */
+    private double bookerSkew = 1.5;
+    private long randomSeed = 42;
+}
@@ -2,14 +2,23 @@ package ru.practicum.shareit.user;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.common.OffsetPageRequest;
 import ru.practicum.shareit.exception.EmailAlreadyExistsException;
 import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 @Slf4j
@@ -17,10 +26,17 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, ItemRepository itemRepository,
+                       ItemRequestRepository itemRequestRepository, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -34,13 +50,27 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    /**
+     * Served from the second-level cache region of users when the row is cached there, every call still
+     * gets its own managed instance.
+     */
     public User getUserById(Long id) {
         return userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User not found with id: " + id));
     }
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    public List<User> getUsers(int from, int size) {
+        return userRepository.findAllBy(new OffsetPageRequest(from, size, Sort.by("id")));
+    }
+
+    /**
+     * Passes every user to the consumer while reading them through a database cursor.
+     * Runs in a read-only transaction so that the JDBC driver honours the fetch size.
+     */
+    public void exportUsers(Consumer<UserDto> consumer) {
+        try (Stream<UserDto> users = userRepository.streamAllUsers()) {
+            users.forEach(consumer);
+        }
     }
 
     @Transactional
@@ -65,7 +95,11 @@ public class UserService {
 
     @Transactional
     public void deleteUser(Long id) {
+        List<Long> ownedItemIds = itemRepository.findIdsByOwnerId(id);
+        List<Long> requestIds = itemRequestRepository.findIdsByRequestorId(id);
+        List<Long> answeringItemIds = itemRepository.findIdsAnsweringRequestsOf(id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id, ownedItemIds, requestIds, answeringItemIds));
         log.info("User deleted: {}", id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.user.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class UserDeletedEvent {
+    private final Long userId;
+    // Items the database deletes along with their owner, read before the user was deleted
+    private final List<Long> ownedItemIds;
+    // Requests the database deletes along with their requestor
+    private final List<Long> requestIds;
+    // Items of any owner answering those requests, the database clears their request
+    private final List<Long> answeringItemIds;
+}
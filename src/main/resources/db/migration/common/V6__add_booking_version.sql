@@ -0,0 +1,2 @@
+-- Optimistic locking for booking writes
+ALTER TABLE bookings ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
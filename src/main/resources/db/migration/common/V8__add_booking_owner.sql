@@ -0,0 +1,4 @@
+-- Owner of the booked item, copied onto the booking so owner timelines filter and sort on bookings alone.
+-- Added as a nullable column without a default, which does not rewrite the table. It is filled by
+-- BookingOwnerBackfillMigration (8.2) and indexed and enforced by the vendor scripts 8.3 to 8.5
+ALTER TABLE bookings ADD COLUMN owner_id BIGINT;
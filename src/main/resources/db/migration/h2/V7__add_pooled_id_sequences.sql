@@ -0,0 +1,9 @@
+-- Items and bookings take ids from sequences handed out in blocks of 50 (Hibernate pooled-lo),
+-- so their INSERTs can be batched. Plain INSERTs without an id still work through the column default.
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR items_seq;
+
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR bookings_seq;
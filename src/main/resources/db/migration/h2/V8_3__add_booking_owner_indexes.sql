@@ -0,0 +1,5 @@
+-- Owner timelines: findByItemOwnerId..., findCurrentBookingsByOwner (keyset order start_date DESC, id DESC)
+CREATE INDEX idx_bookings_owner_start ON bookings (owner_id, start_date DESC, id DESC);
+
+-- Owner timelines filtered by status: findByItemOwnerIdAndStatusOrderByStartDesc
+CREATE INDEX idx_bookings_owner_status_start ON bookings (owner_id, status, start_date DESC, id DESC);
@@ -0,0 +1,3 @@
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_to_owner FOREIGN KEY (owner_id) REFERENCES users(id) ON DELETE CASCADE;
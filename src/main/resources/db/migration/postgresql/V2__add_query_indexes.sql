@@ -0,0 +1,26 @@
+-- Built without blocking writes. Flyway runs scripts with CREATE INDEX CONCURRENTLY outside a transaction;
+-- an index left INVALID by a failed run has to be dropped before the script is repaired and rerun
+
+-- Booker timelines: findByBookerId..., findCurrentBookingsByBooker (keyset order start_date DESC, id DESC)
+CREATE INDEX CONCURRENTLY idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+-- Booker timelines filtered by status: findByBookerIdAndStatusOrderByStartDesc
+CREATE INDEX CONCURRENTLY idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+
+-- Owner timelines join items on owner_id and read bookings per item in start_date order
+CREATE INDEX CONCURRENTLY idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+-- Last/next booking lookup and completed booking check: item_id + status + start_date range
+CREATE INDEX CONCURRENTLY idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+-- Owner item listing: findByOwnerIdOrderById, owner joins in booking queries
+CREATE INDEX CONCURRENTLY idx_items_owner ON items (owner_id, id);
+
+-- Items answering a request: findByRequestId, findByRequestIdIn
+CREATE INDEX CONCURRENTLY idx_items_request ON items (request_id);
+
+-- Comments per item, latest first: findByItemIdOrderByCreatedDesc, findLatestByItemIds
+CREATE INDEX CONCURRENTLY idx_comments_item_created ON comments (item_id, created DESC);
+
+-- Requests per requestor, latest first: findByRequestorIdOrderByCreatedDesc
+CREATE INDEX CONCURRENTLY idx_requests_requestor_created ON requests (requestor_id, created DESC);
@@ -0,0 +1,10 @@
+-- Built without blocking writes, outside a transaction like V2
+
+-- Last/next booking lookup only ever reads APPROVED bookings
+CREATE INDEX CONCURRENTLY idx_bookings_item_start_approved ON bookings (item_id, start_date) WHERE status = 'APPROVED';
+
+-- Comment permission check: completed APPROVED bookings of a booker for an item
+CREATE INDEX CONCURRENTLY idx_bookings_booker_item_end_approved ON bookings (booker_id, item_id, end_date) WHERE status = 'APPROVED';
+
+-- Pending bookings an owner still has to process
+CREATE INDEX CONCURRENTLY idx_bookings_item_start_waiting ON bookings (item_id, start_date DESC) WHERE status = 'WAITING';
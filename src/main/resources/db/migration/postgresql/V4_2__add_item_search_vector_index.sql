@@ -0,0 +1,3 @@
+-- Built without blocking writes to items. Flyway runs scripts with CREATE INDEX CONCURRENTLY outside a
+-- transaction; an index left INVALID by a failed run has to be dropped before the script is repaired and rerun
+CREATE INDEX CONCURRENTLY idx_items_search_vector ON items USING GIN (search_vector);
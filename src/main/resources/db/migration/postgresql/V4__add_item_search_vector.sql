@@ -0,0 +1,17 @@
+-- Full-text search for /items/search: name terms rank above description terms. The column is added empty
+-- (no table rewrite), a trigger keeps it current for new and edited rows, migration 4.1 fills existing rows
+-- in batches and V4_2 builds the GIN index concurrently
+ALTER TABLE items ADD COLUMN search_vector tsvector;
+
+CREATE FUNCTION items_search_vector() RETURNS trigger AS $$
+BEGIN
+  NEW.search_vector := setweight(to_tsvector('simple', NEW.name), 'A') ||
+                       setweight(to_tsvector('simple', NEW.description), 'B');
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_items_search_vector
+  BEFORE INSERT OR UPDATE OF name, description ON items
+  FOR EACH ROW
+  EXECUTE FUNCTION items_search_vector();
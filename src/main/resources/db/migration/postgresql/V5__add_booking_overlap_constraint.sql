@@ -0,0 +1,29 @@
+-- An item cannot have two WAITING or APPROVED bookings with overlapping [start, end) periods
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Bookings that already collide are not changed here: the migration fails and lists them (at most 100
+-- pairs), they have to be resolved by a separate, reviewed data fix before it is run again
+DO $$
+DECLARE
+  conflicts TEXT;
+BEGIN
+  SELECT string_agg(format('item %s: booking %s (%s) overlaps booking %s (%s)',
+                           c.item_id, c.id, c.status, c.other_id, c.other_status), E'\n')
+  INTO conflicts
+  FROM (SELECT b.item_id, b.id, b.status, o.id AS other_id, o.status AS other_status
+        FROM bookings b
+        JOIN bookings o ON o.item_id = b.item_id AND o.id < b.id
+        WHERE b.status IN ('WAITING', 'APPROVED')
+          AND o.status IN ('WAITING', 'APPROVED')
+          AND tsrange(o.start_date, o.end_date) && tsrange(b.start_date, b.end_date)
+        ORDER BY b.item_id, b.id, o.id
+        LIMIT 100) c;
+  IF conflicts IS NOT NULL THEN
+    RAISE EXCEPTION 'Overlapping WAITING or APPROVED bookings block bookings_no_overlap:%', E'\n' || conflicts;
+  END IF;
+END
+$$;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_no_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+    WHERE (status IN ('WAITING', 'APPROVED'));
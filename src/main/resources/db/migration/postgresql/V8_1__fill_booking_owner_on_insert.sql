@@ -0,0 +1,14 @@
+-- Instances still running the previous release insert bookings without owner_id while the backfill runs and
+-- until they are replaced, take the owner from the item for them so the NOT NULL check holds
+CREATE FUNCTION fill_booking_owner() RETURNS trigger AS $$
+BEGIN
+  SELECT i.owner_id INTO NEW.owner_id FROM items i WHERE i.id = NEW.item_id;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_bookings_fill_owner
+  BEFORE INSERT ON bookings
+  FOR EACH ROW
+  WHEN (NEW.owner_id IS NULL)
+  EXECUTE FUNCTION fill_booking_owner();
@@ -0,0 +1,8 @@
+-- Built without blocking writes to bookings. Flyway runs scripts with CREATE INDEX CONCURRENTLY outside a
+-- transaction; an index left INVALID by a failed run has to be dropped before the script is repaired and rerun
+
+-- Owner timelines: findByItemOwnerId..., findCurrentBookingsByOwner (keyset order start_date DESC, id DESC)
+CREATE INDEX CONCURRENTLY idx_bookings_owner_start ON bookings (owner_id, start_date DESC, id DESC);
+
+-- Owner timelines filtered by status: findByItemOwnerIdAndStatusOrderByStartDesc
+CREATE INDEX CONCURRENTLY idx_bookings_owner_status_start ON bookings (owner_id, status, start_date DESC, id DESC);
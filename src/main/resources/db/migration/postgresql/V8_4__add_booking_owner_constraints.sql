@@ -0,0 +1,6 @@
+-- NOT VALID constraints apply to new and updated rows at once and only hold their lock for a moment, existing
+-- rows are checked by 8.5 in its own transaction under a lock that lets reads and writes through
+ALTER TABLE bookings ADD CONSTRAINT fk_booking_to_owner FOREIGN KEY (owner_id) REFERENCES users(id)
+    ON DELETE CASCADE NOT VALID;
+
+ALTER TABLE bookings ADD CONSTRAINT bookings_owner_not_null CHECK (owner_id IS NOT NULL) NOT VALID;
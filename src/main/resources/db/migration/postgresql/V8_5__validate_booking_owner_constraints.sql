@@ -0,0 +1,3 @@
+ALTER TABLE bookings VALIDATE CONSTRAINT fk_booking_to_owner;
+
+ALTER TABLE bookings VALIDATE CONSTRAINT bookings_owner_not_null;
@@ -0,0 +1,15 @@
+-- The application keeps items.owner_id fixed: new items ignore a client id and updates never change the owner.
+-- A manual or scripted change of items.owner_id must still carry the denormalized bookings.owner_id along.
+-- H2 (tests only) has no such trigger, its triggers are Java classes
+CREATE FUNCTION sync_booking_owner() RETURNS trigger AS $$
+BEGIN
+  UPDATE bookings SET owner_id = NEW.owner_id WHERE item_id = NEW.id;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_items_sync_booking_owner
+  AFTER UPDATE OF owner_id ON items
+  FOR EACH ROW
+  WHEN (OLD.owner_id IS DISTINCT FROM NEW.owner_id)
+  EXECUTE FUNCTION sync_booking_owner();
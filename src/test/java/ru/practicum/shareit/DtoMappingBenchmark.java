@@ -0,0 +1,97 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.common.JmhRunner;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time and allocation per page of entities mapped to response DTOs. Run with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoMappingBenchmark {
+    private static final int PAGE_SIZE = 100;
+    private static final int ITEMS_PER_REQUEST = 10;
+
+    private final ItemMapper itemMapper = new ItemMapper();
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<ItemRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        User owner = new User(1L, "Owner", "owner@mail.com");
+        User booker = new User(2L, "Booker", "booker@mail.com");
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        items = new ArrayList<>(PAGE_SIZE);
+        bookings = new ArrayList<>(PAGE_SIZE);
+        requests = new ArrayList<>(PAGE_SIZE);
+        for (long i = 1; i <= PAGE_SIZE; i++) {
+            ItemRequest request = new ItemRequest(i, "Need a drill " + i, booker, start, new ArrayList<>());
+            Item item = new Item(i, "Drill " + i, "Cordless drill number " + i, true, owner, request);
+            for (int j = 0; j < ITEMS_PER_REQUEST; j++) {
+                request.getItems().add(item);
+            }
+            items.add(item);
+            bookings.add(new Booking(i, start.plusDays(i), start.plusDays(i + 1), item, booker, BookingStatus.APPROVED));
+            requests.add(request);
+        }
+    }
+
+    @Benchmark
+    public void itemPage(Blackhole blackhole) {
+        for (Item item : items) {
+            blackhole.consume(itemMapper.toItemDto(item, 1L, new ItemDto.BookingInfo(1L, 2L), null));
+        }
+    }
+
+    @Benchmark
+    public void bookingPage(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(BookingMapper.toResponseDto(booking));
+        }
+    }
+
+    @Benchmark
+    public void requestPage(Blackhole blackhole) {
+        for (ItemRequest request : requests) {
+            blackhole.consume(ItemRequestMapper.toDto(request));
+        }
+    }
+
+    @Test
+    void run() throws RunnerException {
+        JmhRunner.run(DtoMappingBenchmark.class, new OptionsBuilder()
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2)));
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.common.JmhRunner;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of response pages with an ObjectMapper configured like the application's one.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonEncodingBenchmark {
+
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private List<BookingResponseDto> bookings;
+    private List<ItemDto> items;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        ItemMapper itemMapper = new ItemMapper();
+        User owner = new User(1L, "Owner", "owner@mail.com");
+        User booker = new User(2L, "Booker", "booker@mail.com");
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        bookings = new ArrayList<>(pageSize);
+        items = new ArrayList<>(pageSize);
+        for (long i = 1; i <= pageSize; i++) {
+            Item item = new Item(i, "Drill " + i, "Cordless drill number " + i, true, owner, null);
+            Booking booking = new Booking(i, start.plusDays(i), start.plusDays(i + 1), item, booker, BookingStatus.APPROVED);
+            bookings.add(BookingMapper.toResponseDto(booking));
+            items.add(itemMapper.toItemDto(item, 1L, new ItemDto.BookingInfo(i, 2L), null));
+        }
+    }
+
+    @Benchmark
+    public byte[] bookingPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] itemPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        JmhRunner.run(JsonEncodingBenchmark.class, new OptionsBuilder()
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2)));
+    }
+}
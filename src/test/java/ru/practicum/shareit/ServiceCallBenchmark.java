@@ -0,0 +1,154 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.common.JmhRunner;
+import ru.practicum.shareit.item.ItemBookingInfoService;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service read paths against an in-memory H2 database seeded with one owner's catalog and its
+ * booking history. The application runs without a web server in its own database, so the numbers
+ * exclude HTTP and JSON. Run with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceCallBenchmark {
+    private static final int ITEMS = 200;
+    private static final int BOOKERS = 50;
+    private static final int BOOKINGS_PER_ITEM = 20;
+    private static final int PAGE_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private ItemService itemService;
+    private ItemBookingInfoService itemBookingInfoService;
+    private ItemRequestService itemRequestService;
+    private Long ownerId;
+    private Long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                // Arguments rather than default properties, which the test profile would override
+                .run("--spring.datasource.url=jdbc:h2:mem:shareit_service_benchmark",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.jpa.properties.hibernate.generate_statistics=false",
+                        "--logging.level.ru.practicum.shareit=WARN");
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        itemBookingInfoService = context.getBean(ItemBookingInfoService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Booking> ownerBookingsAll() {
+        return bookingService.getOwnerBookings(ownerId, "ALL", 0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public List<Booking> bookerBookingsPast() {
+        return bookingService.getUserBookings(bookerId, "PAST", 0, PAGE_SIZE, null);
+    }
+
+    // What GET /items does before mapping: the owner's items and their last and next bookings
+    @Benchmark
+    public Map<Long, BookingShortDto> ownerItemsWithBookings() {
+        List<Long> itemIds = itemService.getItemsByOwner(ownerId).stream().map(Item::getId).toList();
+        itemBookingInfoService.getLastBookingsForItems(itemIds);
+        return itemBookingInfoService.getNextBookingsForItems(itemIds);
+    }
+
+    @Benchmark
+    public List<Item> searchItems() {
+        return itemService.searchItems("cordless drill", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<ItemRequest> allRequests() {
+        return itemRequestService.getAllRequests(ownerId, 0, PAGE_SIZE);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        JmhRunner.run(ServiceCallBenchmark.class, new OptionsBuilder()
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(3))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(3)));
+    }
+
+    private void seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRequestRepository itemRequestRepository = context.getBean(ItemRequestRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+
+        User owner = userRepository.save(new User(null, "Owner", "owner@mail.com"));
+        ownerId = owner.getId();
+        List<User> bookers = new ArrayList<>(BOOKERS);
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userRepository.save(new User(null, "Booker " + i, "booker" + i + "@mail.com")));
+        }
+        bookerId = bookers.get(0).getId();
+
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Item> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            User requestor = bookers.get(i % BOOKERS);
+            ItemRequest request = itemRequestRepository.save(
+                    new ItemRequest(null, "Need a drill " + i, requestor, now.minusDays(i), null));
+            items.add(new Item(null, "Drill " + i, "Cordless drill number " + i, true, owner, request));
+        }
+        items = itemService.createItems(items, ownerId);
+
+        List<Booking> bookings = new ArrayList<>(ITEMS * BOOKINGS_PER_ITEM);
+        for (Item item : items) {
+            // Half of every item's history is in the past, half in the future
+            for (int i = 0; i < BOOKINGS_PER_ITEM; i++) {
+                LocalDateTime start = now.plusDays(2L * (i - BOOKINGS_PER_ITEM / 2));
+                bookings.add(new Booking(null, start, start.plusDays(1), item,
+                        bookers.get((int) ((item.getId() + i) % BOOKERS)), BookingStatus.APPROVED));
+            }
+        }
+        bookingRepository.saveAll(bookings);
+    }
+}
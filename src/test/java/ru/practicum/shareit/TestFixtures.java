@@ -0,0 +1,43 @@
+package ru.practicum.shareit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.UUID;
+
+/**
+ * Saves users and items for the Spring Boot tests and benchmarks, bypassing the services. Users get a
+ * random name and email, so tests sharing the context and database do not collide.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+
+    public User createUser() {
+        String name = UUID.randomUUID().toString();
+        return userRepository.save(new User(null, name, name + "@mail.com"));
+    }
+
+    public Item createItem(User owner) {
+        return createItem(owner, "Drill", "Cordless drill");
+    }
+
+    public Item createItem(User owner, String name, String description) {
+        return createItem(owner, name, description, true);
+    }
+
+    public Item createItem(User owner, String name, String description, boolean available) {
+        return itemRepository.save(new Item(null, name, description, available, owner, null));
+    }
+
+    public Item createItem(User owner, String name, String description, ItemRequest request) {
+        return itemRepository.save(new Item(null, name, description, true, owner, request));
+    }
+}
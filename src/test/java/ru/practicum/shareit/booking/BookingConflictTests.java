@@ -0,0 +1,183 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.exception.BookingConflictException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BookingConflictTests {
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void overlappingBookingIsRejected() {
+        Item item = fixtures.createItem(fixtures.createUser());
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        bookingService.createBooking(new BookingCreateDto(item.getId(), start, start.plusDays(2)), fixtures.createUser().getId());
+
+        assertThrows(BookingConflictException.class, () -> bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start.plusDays(1), start.plusDays(3)), fixtures.createUser().getId()));
+        // Half-open periods: the next booking may start when the previous one ends
+        bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start.plusDays(2), start.plusDays(3)), fixtures.createUser().getId());
+    }
+
+    @Test
+    void canceledBookingFreesItsPeriod() {
+        Item item = fixtures.createItem(fixtures.createUser());
+        User booker = fixtures.createUser();
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        Booking booking = bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start, start.plusDays(1)), booker.getId());
+
+        bookingService.cancelBooking(booking.getId(), booker.getId());
+
+        bookingService.createBooking(new BookingCreateDto(item.getId(), start, start.plusDays(1)), fixtures.createUser().getId());
+    }
+
+    @Test
+    void bookingCanceledByAnotherInstanceFreesItsPeriod() {
+        Item item = fixtures.createItem(fixtures.createUser());
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        Booking booking = bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start, start.plusDays(1)), fixtures.createUser().getId());
+
+        // Committed by another instance
+        jdbcTemplate.update("UPDATE bookings SET status = 'CANCELED' WHERE id = ?", booking.getId());
+
+        bookingService.createBooking(new BookingCreateDto(item.getId(), start, start.plusDays(1)), fixtures.createUser().getId());
+    }
+
+    @Test
+    void concurrentOverlappingRequestsBookItemOnce() throws Exception {
+        Item item = fixtures.createItem(fixtures.createUser());
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        List<User> bookers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookers.add(fixtures.createUser());
+        }
+
+        List<Callable<Booking>> tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            // Every period overlaps [start + 12h, start + 1d)
+            BookingCreateDto dto = new BookingCreateDto(item.getId(),
+                    start.plusHours(i % 12), start.plusDays(1).plusHours(i % 12));
+            Long bookerId = bookers.get(i).getId();
+            tasks.add(() -> bookingService.createBooking(dto, bookerId));
+        }
+
+        assertEquals(1, runConcurrently(tasks));
+        assertEquals(1, countActive(item));
+    }
+
+    @Test
+    void concurrentApprovalsOfOverlappingRequestsApproveOne() throws Exception {
+        Item item = fixtures.createItem(fixtures.createUser());
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        // Overlapping requests written around the service, as left behind before overlaps were checked
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookings.add(bookingRepository.save(new Booking(null, start.plusHours(i), start.plusDays(1),
+                    item, fixtures.createUser(), BookingStatus.WAITING)));
+        }
+
+        List<Callable<Booking>> tasks = new ArrayList<>();
+        for (Booking booking : bookings) {
+            tasks.add(() -> bookingService.approveBooking(booking.getId(), item.getOwner().getId(), true));
+        }
+
+        assertEquals(1, runConcurrently(tasks));
+        assertEquals(1, bookingRepository.findAll().stream()
+                .filter(b -> b.getStatus() == BookingStatus.APPROVED
+                        && bookings.contains(b))
+                .count());
+    }
+
+    @Test
+    void intervalTreeAgreesWithLinearScan() {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+        BookingIntervalTree tree = new BookingIntervalTree();
+        List<long[]> periods = new ArrayList<>();
+
+        for (long id = 1; id <= 2000; id++) {
+            long start = random.nextInt(10_000);
+            long end = start + 1 + random.nextInt(50);
+            tree.add(id, base.plusHours(start), base.plusHours(end));
+            periods.add(new long[]{id, start, end});
+
+            long queryStart = random.nextInt(10_000);
+            long queryEnd = queryStart + 1 + random.nextInt(50);
+            boolean expected = periods.stream().anyMatch(p -> p[1] < queryEnd && p[2] > queryStart);
+            Long found = tree.findOverlap(base.plusHours(queryStart), base.plusHours(queryEnd), 0L);
+            assertEquals(expected, found != null);
+        }
+    }
+
+    // Starts all tasks at once and returns how many succeeded, every failure must be a conflict
+    private int runConcurrently(List<Callable<Booking>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Booking>> futures = new ArrayList<>();
+        for (Callable<Booking> task : tasks) {
+            futures.add(executor.submit(() -> {
+                ready.await();
+                return task.call();
+            }));
+        }
+        ready.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        int succeeded = 0;
+        for (Future<Booking> future : futures) {
+            try {
+                future.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(BookingConflictException.class, e.getCause());
+            }
+        }
+        return succeeded;
+    }
+
+    private long countActive(Item item) {
+        return bookingRepository.findAll().stream()
+                .filter(b -> b.getItem().getId().equals(item.getId()) && b.getStatus().isActive())
+                .count();
+    }
+}
@@ -0,0 +1,269 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.booking.dto.BookingBatchDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void cursorPagesMatchOffsetPages() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        createBookings(owner, booker, 8);
+
+        for (String path : List.of("/bookings", "/bookings/owner")) {
+            Long userId = path.equals("/bookings") ? booker.getId() : owner.getId();
+            List<Long> expected = bookingIds(get(path).header("X-Sharer-User-Id", userId)
+                    .param("size", "8"));
+
+            List<Long> actual = new ArrayList<>();
+            String cursor = null;
+            do {
+                MockHttpServletRequestBuilder request = get(path).header("X-Sharer-User-Id", userId)
+                        .param("size", "3");
+                if (cursor != null) {
+                    request.param("cursor", cursor);
+                }
+                MockHttpServletResponse response = mockMvc.perform(request)
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse();
+                actual.addAll(bookingIds(response));
+                cursor = response.getHeader(BookingController.NEXT_CURSOR_HEADER);
+            } while (cursor != null);
+
+            assertEquals(8, expected.size());
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void offsetPagingStartsAtFromWhenNotMultipleOfSize() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        createBookings(owner, booker, 6);
+
+        List<Long> all = bookingIds(get("/bookings").header("X-Sharer-User-Id", booker.getId())
+                .param("size", "6"));
+        List<Long> page = bookingIds(get("/bookings").header("X-Sharer-User-Id", booker.getId())
+                .param("from", "2").param("size", "3"));
+
+        assertEquals(all.subList(2, 5), page);
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        createBookings(owner, booker, 2);
+
+        MockHttpServletResponse response = mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("size", "3"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertNull(response.getHeader(BookingController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        User booker = fixtures.createUser();
+
+        mockMvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void timelinePageCostsOneQuery() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        // Distinct items and bookers, so any lazy loading would show up as extra statements
+        for (int i = 0; i < 10; i++) {
+            Item item = fixtures.createItem(owner, "Drill " + i, "Cordless drill");
+            User otherBooker = fixtures.createUser();
+            bookingRepository.save(new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1),
+                    item, otherBooker, BookingStatus.WAITING));
+            Item otherItem = fixtures.createItem(fixtures.createUser(), "Saw " + i, "Hand saw");
+            bookingRepository.save(new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1),
+                    otherItem, booker, BookingStatus.WAITING));
+        }
+
+        for (String state : List.of("ALL", "FUTURE", "WAITING")) {
+            assertEquals(1, countStatements(get("/bookings/owner").header("X-Sharer-User-Id", owner.getId())
+                    .param("state", state).param("size", "10")));
+            assertEquals(1, countStatements(get("/bookings").header("X-Sharer-User-Id", booker.getId())
+                    .param("state", state).param("size", "10")));
+        }
+    }
+
+    @Test
+    void batchDecisionsReportOutcomePerBooking() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        Item item = fixtures.createItem(owner);
+        Item foreignItem = fixtures.createItem(fixtures.createUser(), "Saw", "Hand saw");
+        Booking approve = saveBooking(item, booker, start, BookingStatus.WAITING);
+        Booking overlapping = saveBooking(item, booker, start.plusHours(12), BookingStatus.WAITING);
+        Booking reject = saveBooking(item, booker, start.plusDays(5), BookingStatus.WAITING);
+        Booking processed = saveBooking(item, booker, start.plusDays(10), BookingStatus.CANCELED);
+        Booking foreign = saveBooking(foreignItem, booker, start, BookingStatus.WAITING);
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(approve.getId(), true),
+                new BookingDecisionDto(overlapping.getId(), true),
+                new BookingDecisionDto(reject.getId(), false),
+                new BookingDecisionDto(processed.getId(), true),
+                new BookingDecisionDto(foreign.getId(), true),
+                new BookingDecisionDto(-1L, false));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        String body = mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingBatchDecisionDto(decisions))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        // Read, lock, approve, reject, read back, regardless of the number of decisions
+        assertEquals(5, statistics.getPrepareStatementCount());
+
+        List<String> outcomes = new ArrayList<>();
+        List<String> statuses = new ArrayList<>();
+        for (JsonNode result : objectMapper.readTree(body)) {
+            outcomes.add(result.get("outcome").asText());
+            statuses.add(result.get("status").asText());
+        }
+        assertEquals(List.of("APPLIED", "CONFLICT", "APPLIED", "ALREADY_PROCESSED", "FORBIDDEN", "NOT_FOUND"), outcomes);
+        assertEquals(List.of("APPROVED", "WAITING", "REJECTED", "CANCELED", "null", "null"), statuses);
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(foreign.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void batchWithDuplicateIdsIsRejected() throws Exception {
+        User owner = fixtures.createUser();
+        BookingBatchDecisionDto batch = new BookingBatchDecisionDto(List.of(
+                new BookingDecisionDto(1L, true), new BookingDecisionDto(1L, false)));
+
+        mockMvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createBookingsSavesAllOrNone() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        Item drill = fixtures.createItem(owner);
+        Item saw = fixtures.createItem(owner, "Saw", "Hand saw");
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        List<BookingCreateDto> valid = List.of(
+                new BookingCreateDto(drill.getId(), start, start.plusDays(1)),
+                new BookingCreateDto(drill.getId(), start.plusDays(1), start.plusDays(2)),
+                new BookingCreateDto(saw.getId(), start, start.plusDays(2)));
+        List<BookingCreateDto> overlapping = List.of(
+                new BookingCreateDto(saw.getId(), start.plusDays(5), start.plusDays(6)),
+                new BookingCreateDto(drill.getId(), start.plusHours(12), start.plusDays(3)));
+
+        String body = mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(valid)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(3, objectMapper.readTree(body).size());
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(overlapping)))
+                .andExpect(status().isConflict());
+        assertEquals(3, bookingIds(get("/bookings").header("X-Sharer-User-Id", booker.getId())).size());
+    }
+
+    private Booking saveBooking(Item item, User booker, LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(new Booking(null, start, start.plusDays(1), item, booker, status));
+    }
+
+    // Runs the request once to warm up caches, then returns the statements a second run prepares
+    private long countStatements(MockHttpServletRequestBuilder request) throws Exception {
+        assertEquals(10, bookingIds(request).size());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        bookingIds(request);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Long> bookingIds(MockHttpServletRequestBuilder request) throws Exception {
+        return bookingIds(mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse());
+    }
+
+    private List<Long> bookingIds(MockHttpServletResponse response) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode booking : objectMapper.readTree(response.getContentAsString())) {
+            ids.add(booking.get("id").asLong());
+        }
+        return ids;
+    }
+
+    // Every second booking shares its start with the previous one to exercise the id tie-breaker
+    private void createBookings(User owner, User booker, int count) {
+        Item item = fixtures.createItem(owner);
+        LocalDateTime base = LocalDateTime.now().withNano(0).plusDays(1);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = base.plusDays(i / 2);
+            bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, BookingStatus.WAITING));
+        }
+    }
+}
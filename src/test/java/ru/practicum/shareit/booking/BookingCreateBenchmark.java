@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.common.sql.SqlStatementStats;
+import ru.practicum.shareit.common.sql.SqlStatementTracker;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Latency and JDBC statements of createBooking on the no-conflict path: the first booking of an item and
+ * further bookings of an item booked before. Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest
+class BookingCreateBenchmark {
+    private static final int WARMUP_RUNS = 200;
+    private static final int MEASURED_RUNS = 1000;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void createBookingLatency() {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        LocalDateTime base = LocalDateTime.now().withNano(0).plusDays(1);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < WARMUP_RUNS + MEASURED_RUNS; i++) {
+            items.add(fixtures.createItem(owner, "Drill " + i, "Cordless drill"));
+        }
+        Item repeated = fixtures.createItem(owner, "Saw", "Hand saw");
+
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            book(items.get(i), booker, base);
+            book(repeated, booker, base.plusHours(i));
+        }
+        Result first = measure(i -> book(items.get(WARMUP_RUNS + i), booker, base));
+        Result next = measure(i -> book(repeated, booker, base.plusHours(WARMUP_RUNS + i)));
+
+        log.info("createBooking, first booking of an item: {} us/op, {} statements/op", first.micros, first.statements);
+        log.info("createBooking, item booked before: {} us/op, {} statements/op", next.micros, next.statements);
+    }
+
+    private void book(Item item, User booker, LocalDateTime start) {
+        bookingService.createBooking(new BookingCreateDto(item.getId(), start, start.plusHours(1)), booker.getId());
+    }
+
+    private Result measure(IntConsumer run) {
+        SqlStatementStats stats = SqlStatementTracker.start();
+        long started = System.nanoTime();
+        try {
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                run.accept(i);
+            }
+        } finally {
+            SqlStatementTracker.stop();
+        }
+        double micros = (System.nanoTime() - started) / 1000.0 / MEASURED_RUNS;
+        return new Result(String.format("%.1f", micros),
+                String.format("%.2f", (double) stats.getStatementCount() / MEASURED_RUNS));
+    }
+
+    private record Result(String micros, String statements) {
+    }
+}
@@ -0,0 +1,140 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.common.sql.SqlStatementStats;
+import ru.practicum.shareit.common.sql.SqlStatementTracker;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Fails when the plan of a hot repository query falls back to a full table scan. The SQL is the one
+ * Hibernate generates for the repository method, captured through the statement tracking of
+ * {@link SqlStatementTracker} and explained with its parameters unbound.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingIndexUsageTests {
+    private static final LocalDateTime NOW = LocalDateTime.now();
+    private static final PageRequest PAGE = PageRequest.of(0, 10);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    Stream<Arguments> hotQueries() {
+        Set<Long> ids = Set.of(1L, 2L, 3L);
+        return Stream.of(
+                // booker timelines, first page and after a cursor
+                query("findByBookerIdOrderByStartDesc", () -> bookingRepository
+                        .findByBookerIdOrderByStartDesc(1L, null, null, PAGE)),
+                query("findByBookerIdOrderByStartDesc after cursor", () -> bookingRepository
+                        .findByBookerIdOrderByStartDesc(1L, NOW, 0L, PAGE)),
+                query("findCurrentBookingsByBooker", () -> bookingRepository
+                        .findCurrentBookingsByBooker(1L, NOW, null, null, PAGE)),
+                query("findCurrentBookingsByBooker after cursor", () -> bookingRepository
+                        .findCurrentBookingsByBooker(1L, NOW, NOW, 0L, PAGE)),
+                query("findByBookerIdAndEndBeforeOrderByStartDesc", () -> bookingRepository
+                        .findByBookerIdAndEndBeforeOrderByStartDesc(1L, NOW, null, null, PAGE)),
+                query("findByBookerIdAndEndBeforeOrderByStartDesc after cursor", () -> bookingRepository
+                        .findByBookerIdAndEndBeforeOrderByStartDesc(1L, NOW, NOW, 0L, PAGE)),
+                query("findByBookerIdAndStartAfterOrderByStartDesc", () -> bookingRepository
+                        .findByBookerIdAndStartAfterOrderByStartDesc(1L, NOW, null, null, PAGE)),
+                query("findByBookerIdAndStartAfterOrderByStartDesc after cursor", () -> bookingRepository
+                        .findByBookerIdAndStartAfterOrderByStartDesc(1L, NOW, NOW, 0L, PAGE)),
+                query("findByBookerIdAndStatusOrderByStartDesc", () -> bookingRepository
+                        .findByBookerIdAndStatusOrderByStartDesc(1L, BookingStatus.WAITING, null, null, PAGE)),
+                query("findByBookerIdAndStatusOrderByStartDesc after cursor", () -> bookingRepository
+                        .findByBookerIdAndStatusOrderByStartDesc(1L, BookingStatus.WAITING, NOW, 0L, PAGE)),
+                // owner timelines, first page and after a cursor
+                query("findByItemOwnerIdOrderByStartDesc", () -> bookingRepository
+                        .findByItemOwnerIdOrderByStartDesc(1L, null, null, PAGE)),
+                query("findByItemOwnerIdOrderByStartDesc after cursor", () -> bookingRepository
+                        .findByItemOwnerIdOrderByStartDesc(1L, NOW, 0L, PAGE)),
+                query("findCurrentBookingsByOwner", () -> bookingRepository
+                        .findCurrentBookingsByOwner(1L, NOW, null, null, PAGE)),
+                query("findCurrentBookingsByOwner after cursor", () -> bookingRepository
+                        .findCurrentBookingsByOwner(1L, NOW, NOW, 0L, PAGE)),
+                query("findByItemOwnerIdAndEndBeforeOrderByStartDesc", () -> bookingRepository
+                        .findByItemOwnerIdAndEndBeforeOrderByStartDesc(1L, NOW, null, null, PAGE)),
+                query("findByItemOwnerIdAndEndBeforeOrderByStartDesc after cursor", () -> bookingRepository
+                        .findByItemOwnerIdAndEndBeforeOrderByStartDesc(1L, NOW, NOW, 0L, PAGE)),
+                query("findByItemOwnerIdAndStartAfterOrderByStartDesc", () -> bookingRepository
+                        .findByItemOwnerIdAndStartAfterOrderByStartDesc(1L, NOW, null, null, PAGE)),
+                query("findByItemOwnerIdAndStartAfterOrderByStartDesc after cursor", () -> bookingRepository
+                        .findByItemOwnerIdAndStartAfterOrderByStartDesc(1L, NOW, NOW, 0L, PAGE)),
+                query("findByItemOwnerIdAndStatusOrderByStartDesc", () -> bookingRepository
+                        .findByItemOwnerIdAndStatusOrderByStartDesc(1L, BookingStatus.WAITING, null, null, PAGE)),
+                query("findByItemOwnerIdAndStatusOrderByStartDesc after cursor", () -> bookingRepository
+                        .findByItemOwnerIdAndStatusOrderByStartDesc(1L, BookingStatus.WAITING, NOW, 0L, PAGE)),
+                // last/next booking lookup, overlap and completed booking checks
+                query("findLastBookingsForItems",
+                        () -> bookingRepository.findLastBookingsForItems(ids, NOW, BookingStatus.APPROVED)),
+                query("findNextBookingsForItems",
+                        () -> bookingRepository.findNextBookingsForItems(ids, NOW, BookingStatus.APPROVED)),
+                query("existsOverlapping", () -> bookingRepository.existsOverlapping(
+                        1L, NOW, NOW.plusDays(1), BookingStatus.ACTIVE, 0L)),
+                query("findBookingsOfItemsEndingAfter",
+                        () -> bookingRepository.findBookingsOfItemsEndingAfter(ids, NOW, BookingStatus.ACTIVE)),
+                query("existsCompletedBookingByBookerAndItem", () -> bookingRepository
+                        .existsCompletedBookingByBookerAndItem(1L, 1L, NOW, BookingStatus.APPROVED)),
+                // owner item listing and items per request
+                query("findByOwnerIdOrderById", () -> itemRepository.findByOwnerIdOrderById(1L)),
+                query("findByRequestIdIn", () -> itemRepository.findByRequestIdIn(ids)),
+                // comments and requests, latest first
+                query("findLatestByItemIds", () -> commentRepository.findLatestByItemIds(ids, 3)),
+                query("findByRequestorIdOrderByCreatedDesc",
+                        () -> itemRequestRepository.findByRequestorIdOrderByCreatedDesc(1L)));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryDoesNotScanTable(String method, Runnable query) {
+        SqlStatementStats stats = SqlStatementTracker.start();
+        try {
+            query.run();
+        } finally {
+            SqlStatementTracker.stop();
+        }
+        List<String> statements = List.copyOf(stats.getShapeCounts().keySet());
+        assertFalse(statements.isEmpty(), () -> method + " ran no statement");
+
+        for (String sql : statements) {
+            String plan = jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                    rs -> rs.next() ? rs.getString(1) : null);
+
+            assertNotNull(plan);
+            assertFalse(plan.contains("tableScan"), () -> "Full table scan in plan of " + method + ":\n" + plan);
+        }
+    }
+
+    private static Arguments query(String method, Runnable query) {
+        return Arguments.of(method, query);
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares OFFSET and keyset latency for deep booking timeline pages. Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingPaginationBenchmark {
+    private static final int BOOKINGS = 20_000;
+    private static final int PAGE_SIZE = 10;
+    private static final int PAGE = 1000;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 100;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private User booker;
+
+    @BeforeAll
+    void seed() {
+        User owner = fixtures.createUser();
+        booker = fixtures.createUser();
+        Item item = fixtures.createItem(owner);
+
+        LocalDateTime base = LocalDateTime.now().minusYears(5);
+        List<Object[]> rows = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDateTime start = base.plusHours(i * 2L);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                    item.getId(), booker.getId(), owner.getId(), BookingStatus.APPROVED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (start_date, end_date, item_id, booker_id, owner_id, " +
+                "status) VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void deepPageLatency() {
+        int from = (PAGE - 1) * PAGE_SIZE;
+        List<Booking> previousPage = bookingService.getUserBookings(booker.getId(), "ALL", from - PAGE_SIZE,
+                PAGE_SIZE, null);
+        BookingCursor cursor = BookingCursor.after(previousPage.get(previousPage.size() - 1));
+
+        List<Booking> offsetPage = bookingService.getUserBookings(booker.getId(), "ALL", from, PAGE_SIZE, null);
+        List<Booking> keysetPage = bookingService.getUserBookings(booker.getId(), "ALL", 0, PAGE_SIZE, cursor);
+        assertEquals(offsetPage, keysetPage);
+
+        double offsetMicros = measure(() -> bookingService.getUserBookings(booker.getId(), "ALL", from,
+                PAGE_SIZE, null));
+        double keysetMicros = measure(() -> bookingService.getUserBookings(booker.getId(), "ALL", 0,
+                PAGE_SIZE, cursor));
+        log.info("Page {} of {} bookings: offset {} us/op, keyset {} us/op",
+                PAGE, BOOKINGS, String.format("%.1f", offsetMicros), String.format("%.1f", keysetMicros));
+    }
+
+    private double measure(Supplier<List<Booking>> query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.get();
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - started) / 1000.0 / MEASURED_RUNS;
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.exception.BookingNotFoundException;
+import ru.practicum.shareit.exception.ItemAccessDeniedException;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest
+class BookingStateTransitionTests {
+    private static final int BOOKINGS = 20;
+    private static final int ATTEMPTS_PER_KIND = 3;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void concurrentTransitionsHaveOneWinnerPerBooking() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Item item = fixtures.createItem(owner, "Drill " + i, "Cordless drill");
+            bookings.add(bookingRepository.save(
+                    new Booking(null, start, start.plusDays(1), item, booker, BookingStatus.WAITING)));
+        }
+
+        // Owner approvals, owner rejections and booker cancellations all race for every booking
+        List<Callable<Booking>> tasks = new ArrayList<>();
+        for (Booking booking : bookings) {
+            for (int i = 0; i < ATTEMPTS_PER_KIND; i++) {
+                tasks.add(() -> bookingService.approveBooking(booking.getId(), owner.getId(), true));
+                tasks.add(() -> bookingService.approveBooking(booking.getId(), owner.getId(), false));
+                tasks.add(() -> bookingService.cancelBooking(booking.getId(), booker.getId()));
+            }
+        }
+
+        List<Booking> winners = runConcurrently(tasks);
+
+        assertEquals(BOOKINGS, winners.size());
+        for (Booking booking : bookings) {
+            List<Booking> won = winners.stream().filter(booking::equals).toList();
+            assertEquals(1, won.size());
+            Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+            assertEquals(won.get(0).getStatus(), stored.getStatus());
+            assertEquals(1L, stored.getVersion());
+        }
+    }
+
+    @Test
+    void failedTransitionsKeepTheirErrors() {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        Item item = fixtures.createItem(owner);
+        Booking booking = bookingRepository.save(
+                new Booking(null, start, start.plusDays(1), item, booker, BookingStatus.WAITING));
+
+        assertThrows(BookingNotFoundException.class, () -> bookingService.approveBooking(-1L, owner.getId(), true));
+        assertThrows(ItemAccessDeniedException.class,
+                () -> bookingService.approveBooking(booking.getId(), booker.getId(), true));
+        assertThrows(BookingNotFoundException.class, () -> bookingService.cancelBooking(booking.getId(), owner.getId()));
+
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        assertThrows(ValidationException.class,
+                () -> bookingService.approveBooking(booking.getId(), owner.getId(), false));
+        assertThrows(BookingNotFoundException.class,
+                () -> bookingService.cancelBooking(booking.getId(), booker.getId()));
+    }
+
+    // Starts all tasks at once and returns the results of those that succeeded
+    private List<Booking> runConcurrently(List<Callable<Booking>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch ready = new CountDownLatch(1);
+        List<Future<Booking>> futures = new ArrayList<>();
+        for (Callable<Booking> task : tasks) {
+            futures.add(executor.submit(() -> {
+                ready.await();
+                return task.call();
+            }));
+        }
+        ready.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+
+        List<Booking> winners = new ArrayList<>();
+        for (Future<Booking> future : futures) {
+            try {
+                winners.add(future.get());
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof ValidationException)
+                        && !(e.getCause() instanceof BookingNotFoundException)) {
+                    fail(e.getCause());
+                }
+            }
+        }
+        return winners;
+    }
+}
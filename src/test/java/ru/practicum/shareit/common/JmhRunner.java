@@ -0,0 +1,37 @@
+package ru.practicum.shareit.common;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+
+import java.io.File;
+import java.util.Collection;
+
+/**
+ * Runs a JMH benchmark class inside the surefire JVM ({@code forks(0)}) with the GC profiler, so
+ * allocation rates ({@code gc.alloc.rate.norm}) are reported next to the scores. Results are written
+ * as JSON to {@code target/jmh/<benchmark>.json} (directory overridable with {@code -Djmh.results=...})
+ * for comparing runs of different commits.
+ */
+public final class JmhRunner {
+
+    private JmhRunner() {
+    }
+
+    public static Collection<RunResult> run(Class<?> benchmark, ChainedOptionsBuilder options) throws RunnerException {
+        File results = new File(System.getProperty("jmh.results", "target/jmh"));
+        if (!results.isDirectory() && !results.mkdirs()) {
+            throw new IllegalStateException("Cannot create " + results);
+        }
+        return new Runner(options
+                .include(benchmark.getName() + "\\.")
+                .forks(0)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(new File(results, benchmark.getSimpleName() + ".json").getPath())
+                .build()).run();
+    }
+}
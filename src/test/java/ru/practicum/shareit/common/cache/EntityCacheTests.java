@@ -0,0 +1,137 @@
+package ru.practicum.shareit.common.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class EntityCacheTests {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void getItemByIdIsServedFromCache() {
+        Item item = createItem(fixtures.createUser(), null);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        double hitsBefore = cacheGets(EntityCacheConfig.ITEMS_REGION, "hit");
+
+        itemService.getItemById(item.getId());
+        statistics.clear();
+        itemService.getItemById(item.getId());
+        itemService.getItemById(item.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(EntityCacheConfig.ITEMS_REGION).getHitCount());
+        assertTrue(cacheGets(EntityCacheConfig.ITEMS_REGION, "hit") >= hitsBefore + 2);
+    }
+
+    @Test
+    void updatesReplaceCachedEntities() {
+        User owner = fixtures.createUser();
+        Item item = createItem(owner, null);
+        itemService.getItemById(item.getId());
+        userRepository.findById(owner.getId());
+
+        itemService.updateItem(item.getId(), new Item(null, "Hammer", null, false, null, null), owner.getId());
+        userService.updateUser(owner.getId(), new User(null, "Updated", null));
+
+        Item updated = itemService.getItemById(item.getId());
+        assertEquals("Hammer", updated.getName());
+        assertFalse(updated.getAvailable());
+        assertEquals("Updated", userRepository.findById(owner.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void deleteItemEvictsCachedItem() {
+        User owner = fixtures.createUser();
+        Item item = createItem(owner, null);
+        itemService.getItemById(item.getId());
+
+        itemService.deleteItem(item.getId());
+
+        // READ_WRITE regions keep a lock entry for removed rows, so check that reads miss instead
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItemById(item.getId()));
+    }
+
+    @Test
+    void deleteUserEvictsEntitiesRemovedByTheDatabase() {
+        User owner = fixtures.createUser();
+        User requestor = fixtures.createUser();
+        ItemRequest request = itemRequestRepository.save(
+                new ItemRequest(null, "Need a drill", requestor, LocalDateTime.now(), null));
+        Item ownedItem = createItem(owner, null);
+        Item answer = createItem(fixtures.createUser(), request);
+        Item unrelated = createItem(fixtures.createUser(), null);
+        itemService.getItemById(ownedItem.getId());
+        itemService.getItemById(answer.getId());
+        itemService.getItemById(unrelated.getId());
+        itemRequestRepository.findById(request.getId());
+
+        // Deleting the owner cascades to their items, deleting the requestor to their requests,
+        // which in turn clears the request of the answering item
+        userService.deleteUser(owner.getId());
+        userService.deleteUser(requestor.getId());
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItemById(ownedItem.getId()));
+        assertTrue(itemRequestRepository.findById(request.getId()).isEmpty());
+        assertNull(itemService.getItemById(answer.getId()).getRequest());
+        assertTrue(userRepository.findById(owner.getId()).isEmpty());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        itemService.getItemById(unrelated.getId());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    private double cacheGets(String region, String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", region)
+                .tag("cache.manager", "hibernate")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private Item createItem(User owner, ItemRequest request) {
+        return itemService.createItem(new Item(null, "Drill", "Cordless drill", true, owner, request), owner.getId());
+    }
+}
@@ -0,0 +1,129 @@
+package ru.practicum.shareit.common.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The replicas are empty copies of the schema, so rows are only visible on a replica if inserted there
+@SpringBootTest(properties = {
+        "shareit.datasource.replicas.enabled=true",
+        "shareit.datasource.replicas.urls=" + ReplicaRoutingTests.REPLICA_A + "," + ReplicaRoutingTests.REPLICA_B,
+        "shareit.datasource.replicas.read-your-writes-window=1m"
+})
+class ReplicaRoutingTests {
+    static final String REPLICA_A = "jdbc:h2:mem:shareit_replica_a;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_B = "jdbc:h2:mem:shareit_replica_b;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    @Autowired
+    private ReplicaPoolDataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @BeforeAll
+    static void migrateReplicas() {
+        for (String url : List.of(REPLICA_A, REPLICA_B)) {
+            Flyway.configure()
+                    .dataSource(url, "sa", "")
+                    .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                    .load()
+                    .migrate();
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsRunOnReplicas() {
+        User user = fixtures.createUser();
+
+        assertFalse(findByEmail(user, true));
+        assertTrue(findByEmail(user, false));
+    }
+
+    @Test
+    void readsFollowWritesOfTheSameRequestAndUser() {
+        User writer = fixtures.createUser();
+        User reader = fixtures.createUser();
+
+        readYourWritesTracker.begin(writer.getId());
+        try {
+            assertFalse(findByEmail(writer, true));
+            userService.updateUser(writer.getId(), new User(null, "Updated", null));
+            assertTrue(findByEmail(writer, true));
+        } finally {
+            readYourWritesTracker.end();
+        }
+
+        // A later request of the writer still reads from the primary, other users read from replicas
+        readYourWritesTracker.begin(writer.getId());
+        try {
+            assertTrue(findByEmail(writer, true));
+        } finally {
+            readYourWritesTracker.end();
+        }
+        readYourWritesTracker.begin(reader.getId());
+        try {
+            assertFalse(findByEmail(writer, true));
+        } finally {
+            readYourWritesTracker.end();
+        }
+    }
+
+    @Test
+    void policiesSpreadReadsOverReplicas() throws Exception {
+        assertNotEquals(replicaDataSource.determineTarget(), replicaDataSource.determineTarget());
+
+        ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMinutes(1));
+        try (HikariDataSource busy = replica(REPLICA_A); HikariDataSource idle = replica(REPLICA_B);
+             ReplicaPoolDataSource leastLoaded = new ReplicaPoolDataSource(null, List.of(busy, idle),
+                     ReplicaPolicy.LEAST_LOADED, tracker);
+             Connection connection = busy.getConnection()) {
+            assertEquals(1, busy.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(idle, leastLoaded.determineTarget());
+            assertEquals(idle, leastLoaded.determineTarget());
+        }
+    }
+
+    private boolean findByEmail(User user, boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return Boolean.TRUE.equals(transaction.execute(status ->
+                userRepository.findByEmail(user.getEmail()).isPresent()));
+    }
+
+    private HikariDataSource replica(String url) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setJdbcUrl(url);
+        replica.setUsername("sa");
+        return replica;
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.common.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "shareit.jfr.repository-call-threshold=0ms",
+        "management.endpoints.web.exposure.include=jfr"})
+@AutoConfigureMockMvc
+class FlightRecordingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void recordingCapturesBookingSearchAndRepositoryEvents() throws Exception {
+        mockMvc.perform(get("/actuator/jfr")).andExpect(status().isNotFound());
+        mockMvc.perform(post("/actuator/jfr").contentType(MediaType.APPLICATION_JSON).content("{\"settings\":\"unknown\"}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/actuator/jfr").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"));
+
+        User owner = fixtures.createUser();
+        Item item = fixtures.createItem(owner, "Flightdrill", "Cordless drill");
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        Booking booking = bookingService.createBooking(
+                new BookingCreateDto(item.getId(), start, start.plusDays(1)), fixtures.createUser().getId());
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+        itemService.searchItems("cordless", 0, 10);
+
+        byte[] dump = mockMvc.perform(get("/actuator/jfr"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        mockMvc.perform(delete("/actuator/jfr")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/jfr")).andExpect(status().isNotFound());
+
+        Path file = Files.createTempFile("shareit-test-", ".jfr");
+        try {
+            Files.write(file, dump);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            List<RecordedEvent> lifecycle = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("shareit.BookingLifecycle")
+                            && e.getLong("bookingId") == booking.getId())
+                    .toList();
+            assertEquals(List.of("create", "approve"), lifecycle.stream().map(e -> e.getString("action")).toList());
+            assertEquals("APPROVED", lifecycle.get(1).getString("outcome"));
+            assertEquals(item.getId(), lifecycle.get(0).getLong("itemId"));
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("shareit.ItemSearch")
+                    && e.getString("text").equals("cordless")));
+            assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("shareit.RepositoryCall")
+                    && e.getString("repository").equals("BookingRepository")
+                    && e.getString("method").equals("approveWaitingByOwner")));
+            assertTrue(events.stream().map(e -> e.getEventType().getName())
+                    .noneMatch(name -> name.equals("jdk.InitialEnvironmentVariable")
+                            || name.equals("jdk.InitialSystemProperty")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.common.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.user.User;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class ServiceTimingTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void bookingQueriesAreTimedByState() throws Exception {
+        User booker = fixtures.createUser();
+
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", booker.getId()).param("state", "future"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", booker.getId()).param("state", "bogus"))
+                .andExpect(status().isBadRequest());
+
+        Timer future = meterRegistry.find(ServiceTimingAspect.METRIC)
+                .tags("class", "BookingService", "method", "getUserBookings", "state", "FUTURE", "exception", "none")
+                .timer();
+        assertNotNull(future);
+        assertTrue(future.count() >= 1);
+        assertNotNull(meterRegistry.find(ServiceTimingAspect.METRIC)
+                .tags("method", "getUserBookings", "state", "UNKNOWN", "exception", "ValidationException")
+                .timer());
+        assertNull(meterRegistry.find(ServiceTimingAspect.METRIC).tags("state", "BOGUS").timer());
+    }
+
+    @Test
+    void prometheusScrapeHasSloBuckets() throws Exception {
+        User user = fixtures.createUser();
+        mockMvc.perform(get("/users/{id}", user.getId())).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith("shareit_service_seconds_bucket")
+                && line.contains("method=\"getUserById\"") && line.contains("le=\"0.025\"")));
+        assertTrue(scrape.lines().anyMatch(line -> line.startsWith("spring_data_repository_invocations_seconds_bucket")
+                && line.contains("le=\"0.005\"")));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.common.migration;
+
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class BookingOwnerBackfillMigrationTests {
+
+    @Test
+    void fillsOwnerInRangesAndKeepsFilledRows() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:backfill", "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, owner_id BIGINT NOT NULL)");
+                statement.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, item_id BIGINT NOT NULL, owner_id BIGINT)");
+                statement.execute("INSERT INTO items VALUES (1, 10), (2, 20)");
+                // Ids with gaps, spread over several ranges of 3
+                statement.execute("INSERT INTO bookings VALUES (1, 1, NULL), (2, 2, NULL), (5, 1, NULL), " +
+                        "(9, 2, NULL), (10, 1, 99), (23, 2, NULL)");
+            }
+
+            new BookingOwnerBackfillMigration(3).migrate(contextOf(connection));
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet rows = statement.executeQuery("SELECT id, owner_id FROM bookings ORDER BY id")) {
+                long[][] expected = {{1, 10}, {2, 20}, {5, 10}, {9, 20}, {10, 99}, {23, 20}};
+                for (long[] row : expected) {
+                    rows.next();
+                    assertEquals(row[0], rows.getLong(1));
+                    assertEquals(row[1], rows.getLong(2));
+                }
+                assertFalse(rows.next());
+            }
+        }
+    }
+
+    @Test
+    void emptyTableIsNoOp() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:backfill_empty", "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, owner_id BIGINT NOT NULL)");
+                statement.execute("CREATE TABLE bookings (id BIGINT PRIMARY KEY, item_id BIGINT NOT NULL, owner_id BIGINT)");
+            }
+
+            new BookingOwnerBackfillMigration().migrate(contextOf(connection));
+        }
+    }
+
+    private static Context contextOf(Connection connection) {
+        return new Context() {
+            @Override
+            public Configuration getConfiguration() {
+                return null;
+            }
+
+            @Override
+            public Connection getConnection() {
+                return connection;
+            }
+        };
+    }
+}
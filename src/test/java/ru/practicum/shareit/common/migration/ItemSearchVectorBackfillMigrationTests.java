@@ -0,0 +1,44 @@
+package ru.practicum.shareit.common.migration;
+
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchVectorBackfillMigrationTests {
+
+    @Test
+    void skipsDatabasesWithoutSearchVector() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:search_vector", "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                // The H2 schema has no search_vector column, running the update would fail
+                statement.execute("CREATE TABLE items (id BIGINT PRIMARY KEY, name VARCHAR, description VARCHAR)");
+                statement.execute("INSERT INTO items VALUES (1, 'Drill', 'Cordless drill')");
+            }
+            ItemSearchVectorBackfillMigration migration = new ItemSearchVectorBackfillMigration(1);
+
+            migration.migrate(contextOf(connection));
+
+            assertEquals("4.1", migration.getVersion().getVersion());
+        }
+    }
+
+    private static Context contextOf(Connection connection) {
+        return new Context() {
+            @Override
+            public Configuration getConfiguration() {
+                return null;
+            }
+
+            @Override
+            public Connection getConnection() {
+                return connection;
+            }
+        };
+    }
+}
@@ -0,0 +1,195 @@
+package ru.practicum.shareit.common.r2dbc;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveReadApiTests {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void bookingStatesMatchTheBlockingEndpoint() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        Item item = fixtures.createItem(owner);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        bookingRepository.save(new Booking(null, now.minusDays(5), now.minusDays(4), item, booker,
+                BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.minusDays(1), now.plusDays(1), item, booker,
+                BookingStatus.APPROVED));
+        bookingRepository.save(new Booking(null, now.plusDays(2), now.plusDays(3), item, booker,
+                BookingStatus.WAITING));
+        bookingRepository.save(new Booking(null, now.plusDays(4), now.plusDays(5), item, booker,
+                BookingStatus.REJECTED));
+
+        for (String state : List.of("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED", "CANCELED")) {
+            String blocking = mockMvc.perform(get("/bookings").param("state", state)
+                            .header(USER_HEADER, booker.getId()))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            String reactive = reactive(get("/reactive/bookings").param("state", state)
+                    .header(USER_HEADER, booker.getId()));
+
+            assertEquals(objectMapper.readTree(blocking), objectMapper.readTree(reactive), state);
+        }
+    }
+
+    @Test
+    void bookingsStreamAsNdjson() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        Item item = fixtures.createItem(owner);
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            bookingRepository.save(new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1), item, booker,
+                    BookingStatus.WAITING));
+        }
+
+        String body = reactive(get("/reactive/bookings").param("size", "3")
+                .header(USER_HEADER, booker.getId())
+                .accept(MediaType.APPLICATION_NDJSON));
+
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        assertEquals(3, lines.size());
+        assertEquals(start.plusDays(4), LocalDateTime.parse(lines.get(0).get("start").asText()));
+    }
+
+    @Test
+    void fullPagesCarryTheNextCursorOfTheBlockingEndpoint() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        Item item = fixtures.createItem(owner);
+        LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(1);
+        for (int i = 0; i < 5; i++) {
+            bookingRepository.save(new Booking(null, start.plusDays(i), start.plusDays(i).plusHours(1), item, booker,
+                    BookingStatus.WAITING));
+        }
+
+        String blockingCursor = mockMvc.perform(get("/bookings").param("size", "3")
+                        .header(USER_HEADER, booker.getId()))
+                .andReturn().getResponse().getHeader(NEXT_CURSOR_HEADER);
+        MockHttpServletResponse first = reactiveResponse(get("/reactive/bookings").param("size", "3")
+                .header(USER_HEADER, booker.getId())
+                .accept(MediaType.APPLICATION_NDJSON));
+        String cursor = first.getHeader(NEXT_CURSOR_HEADER);
+        MockHttpServletResponse last = reactiveResponse(get("/reactive/bookings").param("size", "3")
+                .param("cursor", cursor)
+                .header(USER_HEADER, booker.getId()));
+
+        assertEquals(blockingCursor, cursor);
+        JsonNode rest = objectMapper.readTree(last.getContentAsString());
+        assertEquals(2, rest.size());
+        assertEquals(start.plusDays(1), LocalDateTime.parse(rest.get(0).get("start").asText()));
+        assertNull(last.getHeader(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void bookingErrorsMatchTheBlockingEndpoint() throws Exception {
+        User booker = fixtures.createUser();
+
+        mockMvc.perform(get("/reactive/bookings").param("state", "SOON").header(USER_HEADER, booker.getId()))
+                .andExpect(status().isBadRequest());
+        MvcResult started = mockMvc.perform(get("/reactive/bookings").header(USER_HEADER, -1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void pagingIsBoundedLikeTheBlockingEndpoints() throws Exception {
+        User booker = fixtures.createUser();
+
+        mockMvc.perform(get("/reactive/bookings").param("size", "101").header(USER_HEADER, booker.getId()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reactive/bookings").param("from", String.valueOf(Integer.MAX_VALUE))
+                        .header(USER_HEADER, booker.getId()))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reactive/items/search").param("text", "drill").param("size", "101"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reactive/items/search").param("text", "drill")
+                        .param("from", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void searchMatchesWordPrefixesOfAvailableItems() throws Exception {
+        User owner = fixtures.createUser();
+        String word = "w" + UUID.randomUUID().toString().replace("-", "");
+        Item available = fixtures.createItem(owner, word + " drill", "Cordless, 18V");
+        fixtures.createItem(owner, word + " drill press", "Bench drill", false);
+        Item described = fixtures.createItem(owner, "Saw", "Not a " + word + "-drill");
+
+        assertEquals(List.of(available.getId(), described.getId()), search(word + " dri"));
+        assertEquals(List.of(available.getId()), search(word.substring(0, 10) + " cordless"));
+        assertEquals(List.of(), search(word.substring(1)));
+        assertEquals(List.of(), search("  "));
+    }
+
+    private List<Long> search(String text) throws Exception {
+        JsonNode items = objectMapper.readTree(reactive(get("/reactive/items/search").param("text", text)));
+        List<Long> ids = new ArrayList<>();
+        items.forEach(item -> ids.add(item.get("id").asLong()));
+        return ids;
+    }
+
+    private String reactive(MockHttpServletRequestBuilder builder) throws Exception {
+        return reactiveResponse(builder).getContentAsString();
+    }
+
+    // Booking pages take two async rounds: the page with its headers, then the body streamed from it
+    private MockHttpServletResponse reactiveResponse(MockHttpServletRequestBuilder builder) throws Exception {
+        MvcResult result = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        do {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        } while (result.getRequest().isAsyncStarted());
+        assertEquals(200, result.getResponse().getStatus());
+        return result.getResponse();
+    }
+}
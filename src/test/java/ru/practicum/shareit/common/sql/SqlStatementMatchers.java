@@ -0,0 +1,50 @@
+package ru.practicum.shareit.common.sql;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers asserting the statement budget of a request, e.g.
+ * {@code mockMvc.perform(get("/items")).andExpect(statementsAtMost(3))}. They read the statistics
+ * {@link SqlStatementFilter} leaves on the request.
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher statementsAtMost(int budget) {
+        return result -> {
+            SqlStatementStats stats = statementsOf(result);
+            assertTrue(stats.getStatementCount() <= budget, () -> "Expected at most " + budget
+                    + " statements but " + stats.getStatementCount() + " ran:\n" + describe(stats));
+        };
+    }
+
+    public static ResultMatcher noRepeatedStatements(int maxRepeats) {
+        return result -> {
+            SqlStatementStats stats = statementsOf(result);
+            assertTrue(stats.mostRepeatedShape(maxRepeats + 1).isEmpty(), () -> "Expected no statement to run more than "
+                    + maxRepeats + " times:\n" + describe(stats));
+        };
+    }
+
+    public static SqlStatementStats statementsOf(MvcResult result) {
+        SqlStatementStats stats = (SqlStatementStats) result.getRequest().getAttribute(SqlStatementStats.ATTRIBUTE);
+        assertNotNull(stats, "Request was not tracked by SqlStatementFilter");
+        return stats;
+    }
+
+    private static String describe(SqlStatementStats stats) {
+        return stats.getShapeCounts().entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .map(e -> e.getValue() + "x " + e.getKey())
+                .collect(Collectors.joining("\n"));
+    }
+}
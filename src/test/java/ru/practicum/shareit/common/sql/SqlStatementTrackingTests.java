@@ -0,0 +1,110 @@
+package ru.practicum.shareit.common.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.common.sql.SqlStatementMatchers.noRepeatedStatements;
+import static ru.practicum.shareit.common.sql.SqlStatementMatchers.statementsAtMost;
+import static ru.practicum.shareit.common.sql.SqlStatementMatchers.statementsOf;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlStatementTrackingTests {
+    private static final int ROWS = 15;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void listEndpointsStayWithinStatementBudgets() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        for (int i = 0; i < ROWS; i++) {
+            ItemRequest request = itemRequestRepository.save(
+                    new ItemRequest(null, "Need a drill " + i, booker, LocalDateTime.now(), null));
+            Item item = fixtures.createItem(owner, "Drill " + i, "Cordless drill", request);
+            LocalDateTime start = LocalDateTime.now().withNano(0).plusDays(i + 1);
+            bookingRepository.save(new Booking(null, start, start.plusHours(1), item, booker, BookingStatus.WAITING));
+        }
+
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(5))
+                .andExpect(noRepeatedStatements(1));
+        mockMvc.perform(get("/requests/all").header("X-Sharer-User-Id", owner.getId()).param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2))
+                .andExpect(noRepeatedStatements(1));
+        mockMvc.perform(get("/bookings").header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2))
+                .andExpect(noRepeatedStatements(1));
+        mockMvc.perform(get("/bookings/owner").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(statementsAtMost(2))
+                .andExpect(noRepeatedStatements(1));
+    }
+
+    @Test
+    void statementsArePublishedPerHandler() throws Exception {
+        User owner = fixtures.createUser();
+        fixtures.createItem(owner);
+
+        long statements = statementsOf(mockMvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andReturn()).getStatementCount();
+
+        DistributionSummary summary = meterRegistry.find("shareit.sql.statements")
+                .tag("handler", "ItemController.getItemsByOwner")
+                .summary();
+        assertNotNull(summary);
+        assertTrue(summary.count() >= 1);
+        assertTrue(statements > 0);
+        assertNotNull(meterRegistry.find("shareit.sql.time").tag("handler", "ItemController.getItemsByOwner").timer());
+    }
+
+    @Test
+    void repeatedStatementsShareOneShape() {
+        SqlStatementStats stats = new SqlStatementStats();
+        stats.recordStatement("select * from items i1_0 where i1_0.id=?");
+        stats.recordStatement("select *\n  from items i1_0\n  where i1_0.id=?");
+        stats.recordStatement("select * from bookings b1_0 where b1_0.item_id in (?,?,?)");
+        stats.recordStatement("select * from bookings b1_0 where b1_0.item_id in (?, ?)");
+
+        assertEquals(4, stats.getStatementCount());
+        assertEquals(2, stats.getShapeCounts().size());
+        assertEquals(2, stats.mostRepeatedShape(2).orElseThrow().getValue());
+        assertTrue(stats.mostRepeatedShape(3).isEmpty());
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.shareit.common.threads;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "shareit.threads.pinning.threshold=10ms"
+})
+class VirtualThreadTests {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @Test
+    void pinnedVirtualThreadsAreReported() throws Exception {
+        assertTrue(pinningMonitor.isRunning());
+        Object lock = new Object();
+
+        // Sleeping inside synchronized keeps the virtual thread on its carrier
+        Thread.ofVirtual().start(() -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }).join();
+
+        // Recorded events reach the stream about once a second
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        Timer pinned = null;
+        while (pinned == null && System.nanoTime() < deadline) {
+            pinned = meterRegistry.find("shareit.threads.pinned").tag("source", "application").timer();
+            Thread.sleep(100);
+        }
+        assertNotNull(pinned);
+        assertTrue(pinned.count() >= 1);
+    }
+
+    @Test
+    void bulkheadTurnsAwayRequestsOverTheLimit() throws Exception {
+        RequestBulkheadFilter bulkhead = new RequestBulkheadFilter(1, 10, Duration.ofMillis(50),
+                new ObjectMapper(), new SimpleMeterRegistry());
+        CountDownLatch admitted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = Thread.ofVirtual().start(() -> {
+            try {
+                bulkhead.doFilter(new MockHttpServletRequest("GET", "/items"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            admitted.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertTrue(admitted.await(5, TimeUnit.SECONDS));
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        bulkhead.doFilter(new MockHttpServletRequest("GET", "/items"), rejected, (request, response) -> { });
+        MockHttpServletResponse actuator = new MockHttpServletResponse();
+        bulkhead.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), actuator, (request, response) -> { });
+
+        release.countDown();
+        holder.join();
+        MockHttpServletResponse afterRelease = new MockHttpServletResponse();
+        bulkhead.doFilter(new MockHttpServletRequest("GET", "/items"), afterRelease, (request, response) -> { });
+
+        assertEquals(503, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, actuator.getStatus());
+        assertEquals(200, afterRelease.getStatus());
+    }
+
+    @Test
+    void bulkheadIsSizedByTheConnectionPool() {
+        // Four requests per connection of the default pool of ten
+        assertEquals(40.0, meterRegistry.get("shareit.threads.bulkhead.available").gauge().value());
+    }
+}
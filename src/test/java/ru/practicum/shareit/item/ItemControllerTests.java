@@ -0,0 +1,269 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.common.InListChunks;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.items.comments-per-item=2")
+@AutoConfigureMockMvc
+class ItemControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ItemBookingInfoService itemBookingInfoService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void getItemsByOwnerUsesConstantNumberOfQueries() throws Exception {
+        long fewItemsQueries = countOwnerListingQueries(2);
+        long manyItemsQueries = countOwnerListingQueries(25);
+
+        assertTrue(fewItemsQueries > 0);
+        assertEquals(fewItemsQueries, manyItemsQueries);
+    }
+
+    @Test
+    void getItemsByOwnerReturnsLastAndNextBookings() throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        Item item = fixtures.createItem(owner);
+        Booking last = createBooking(item, booker, LocalDateTime.now().minusDays(2), BookingStatus.APPROVED);
+        createBooking(item, booker, LocalDateTime.now().minusDays(5), BookingStatus.APPROVED);
+        Booking next = createBooking(item, booker, LocalDateTime.now().plusDays(1), BookingStatus.APPROVED);
+        createBooking(item, booker, LocalDateTime.now().plusHours(1), BookingStatus.REJECTED);
+
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].lastBooking.id").value(last.getId()))
+                .andExpect(jsonPath("$[0].lastBooking.bookerId").value(booker.getId()))
+                .andExpect(jsonPath("$[0].nextBooking.id").value(next.getId()))
+                .andExpect(jsonPath("$[0].nextBooking.bookerId").value(booker.getId()));
+    }
+
+    @Test
+    void lastAndNextBookingsPickOneBookingPerItemAcrossChunks() {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        Item item = fixtures.createItem(owner);
+        LocalDateTime past = LocalDateTime.now().withNano(0).minusDays(2);
+        LocalDateTime future = LocalDateTime.now().withNano(0).plusDays(2);
+        createBooking(item, booker, past, BookingStatus.APPROVED);
+        Booking last = createBooking(item, fixtures.createUser(), past, BookingStatus.APPROVED);
+        Booking next = createBooking(item, booker, future, BookingStatus.APPROVED);
+        createBooking(item, fixtures.createUser(), future, BookingStatus.APPROVED);
+        // The item lands in the second chunk of the IN list
+        List<Long> itemIds = new ArrayList<>();
+        for (long id = -InListChunks.MAX_SIZE; id < 0; id++) {
+            itemIds.add(id);
+        }
+        itemIds.add(item.getId());
+
+        Map<Long, BookingShortDto> lastBookings = itemBookingInfoService.getLastBookingsForItems(itemIds);
+        Map<Long, BookingShortDto> nextBookings = itemBookingInfoService.getNextBookingsForItems(itemIds);
+
+        assertEquals(1, lastBookings.size());
+        assertEquals(last.getId(), lastBookings.get(item.getId()).getId());
+        assertEquals(1, nextBookings.size());
+        assertEquals(next.getId(), nextBookings.get(item.getId()).getId());
+    }
+
+    @Test
+    void getItemsByOwnerReturnsLatestCommentsUpToLimit() throws Exception {
+        User owner = fixtures.createUser();
+        User author = fixtures.createUser();
+        Item item = fixtures.createItem(owner);
+        Item itemWithoutComments = fixtures.createItem(owner);
+        createComment(item, author, LocalDateTime.now().minusDays(3));
+        Comment middle = createComment(item, author, LocalDateTime.now().minusDays(2));
+        Comment latest = createComment(item, author, LocalDateTime.now().minusDays(1));
+
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(item.getId()))
+                .andExpect(jsonPath("$[0].comments.length()").value(2))
+                .andExpect(jsonPath("$[0].comments[0].id").value(latest.getId()))
+                .andExpect(jsonPath("$[0].comments[0].authorName").value(author.getName()))
+                .andExpect(jsonPath("$[0].comments[1].id").value(middle.getId()))
+                .andExpect(jsonPath("$[1].id").value(itemWithoutComments.getId()))
+                .andExpect(jsonPath("$[1].comments.length()").value(0));
+    }
+
+    @Test
+    void latestCommentsAreFoundAcrossChunks() {
+        User owner = fixtures.createUser();
+        User author = fixtures.createUser();
+        Item first = fixtures.createItem(owner);
+        Item second = fixtures.createItem(owner);
+        Comment firstComment = createComment(first, author, LocalDateTime.now().minusDays(1));
+        createComment(second, author, LocalDateTime.now().minusDays(3));
+        Comment middle = createComment(second, author, LocalDateTime.now().minusDays(2));
+        Comment latest = createComment(second, author, LocalDateTime.now().minusDays(1));
+        // The first item is in the first chunk of the IN list, the second item in the second one
+        List<Long> itemIds = new ArrayList<>();
+        itemIds.add(first.getId());
+        for (long id = 1 - InListChunks.MAX_SIZE; id < 0; id++) {
+            itemIds.add(id);
+        }
+        itemIds.add(second.getId());
+
+        Map<Long, List<Comment>> comments = commentService.getLatestCommentsByItemIds(itemIds);
+
+        assertEquals(2, comments.size());
+        assertEquals(List.of(firstComment.getId()),
+                comments.get(first.getId()).stream().map(Comment::getId).toList());
+        assertEquals(List.of(latest.getId(), middle.getId()),
+                comments.get(second.getId()).stream().map(Comment::getId).toList());
+    }
+
+    @Test
+    void createItemsSendsInsertsInBatches() throws Exception {
+        User owner = fixtures.createUser();
+        List<ItemDto> items = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            items.add(new ItemDto(null, "Drill " + i, "Cordless drill", true, null, null, null, null));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(120))
+                .andExpect(jsonPath("$[119].name").value("Drill 119"));
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        // Owner lookup, a few sequence calls and one statement per JDBC batch of 50
+        assertTrue(statistics.getPrepareStatementCount() <= 10);
+        assertEquals(120, itemRepository.findByOwnerIdOrderById(owner.getId()).size());
+    }
+
+    @Test
+    void createItemIgnoresClientId() throws Exception {
+        User owner = fixtures.createUser();
+        Item original = fixtures.createItem(owner);
+        User other = fixtures.createUser();
+        ItemDto itemDto = new ItemDto(original.getId(), "Saw", "Hand saw", true, null, null, null, null);
+
+        mockMvc.perform(post("/items")
+                        .header("X-Sharer-User-Id", other.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(itemDto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Saw"));
+
+        assertEquals(1, itemRepository.findByOwnerIdOrderById(other.getId()).size());
+        List<Item> ownerItems = itemRepository.findByOwnerIdOrderById(owner.getId());
+        assertEquals(1, ownerItems.size());
+        assertEquals(original.getName(), ownerItems.get(0).getName());
+    }
+
+    @Test
+    void createItemsRejectsInvalidItem() throws Exception {
+        User owner = fixtures.createUser();
+        List<ItemDto> items = List.of(
+                new ItemDto(null, "Drill", "Cordless drill", true, null, null, null, null),
+                new ItemDto(null, "", "No name", true, null, null, null, null));
+
+        mockMvc.perform(post("/items/batch")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isBadRequest());
+        assertTrue(itemRepository.findByOwnerIdOrderById(owner.getId()).isEmpty());
+    }
+
+    @Test
+    void searchItemsBoundsPaging() throws Exception {
+        mockMvc.perform(get("/items/search").param("text", "drill").param("fuzzy", "true")
+                        .param("size", String.valueOf(ItemController.MAX_SEARCH_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/search").param("text", "drill").param("fuzzy", "true")
+                        .param("from", String.valueOf(Integer.MAX_VALUE)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/items/search").param("text", "drill").param("fuzzy", "true")
+                        .param("from", "500000000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    private long countOwnerListingQueries(int itemCount) throws Exception {
+        User owner = fixtures.createUser();
+        User booker = fixtures.createUser();
+        for (int i = 0; i < itemCount; i++) {
+            Item item = fixtures.createItem(owner);
+            createBooking(item, booker, LocalDateTime.now().minusDays(1), BookingStatus.APPROVED);
+            createBooking(item, booker, LocalDateTime.now().plusDays(1), BookingStatus.APPROVED);
+            createComment(item, booker, LocalDateTime.now().minusHours(1));
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(itemCount));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Booking createBooking(Item item, User booker, LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(new Booking(null, start, start.plusHours(2), item, booker, status));
+    }
+
+    private Comment createComment(Item item, User author, LocalDateTime created) {
+        return commentRepository.save(new Comment(null, "Great tool", item, author, created));
+    }
+}
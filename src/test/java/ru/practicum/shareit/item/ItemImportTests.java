@@ -0,0 +1,169 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "shareit.items.import.batch-size=2")
+@AutoConfigureMockMvc
+class ItemImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void csvImportReportsRejectedRowsAndSavesTheRest() throws Exception {
+        User owner = fixtures.createUser();
+        String csv = """
+                Name,Description,Available
+                Drill,Cordless drill,true
+                ,No name,true
+                Saw,"Circular saw, 1200W",false
+                Ladder,Aluminium ladder,maybe
+                Hammer,Claw hammer,true
+                """;
+
+        List<JsonNode> events = importItems(owner, "text/csv", csv);
+
+        List<JsonNode> errors = events.stream().filter(e -> e.get("type").asText().equals("ERROR")).toList();
+        assertEquals(2, errors.size());
+        assertEquals(3, errors.get(0).get("row").asLong());
+        assertEquals(5, errors.get(1).get("row").asLong());
+        assertEquals(2, events.stream().filter(e -> e.get("type").asText().equals("PROGRESS")).count());
+        JsonNode summary = events.get(events.size() - 1);
+        assertEquals("SUMMARY", summary.get("type").asText());
+        assertEquals(5, summary.get("rowsRead").asLong());
+        assertEquals(3, summary.get("imported").asLong());
+        assertEquals(2, summary.get("failed").asLong());
+
+        List<Item> items = itemRepository.findByOwnerIdOrderById(owner.getId());
+        assertEquals(List.of("Drill", "Saw", "Hammer"), items.stream().map(Item::getName).toList());
+        assertEquals("Circular saw, 1200W", items.get(1).getDescription());
+        assertEquals(false, items.get(1).getAvailable());
+    }
+
+    @Test
+    void ndjsonImportSkipsMalformedLines() throws Exception {
+        User owner = fixtures.createUser();
+        String ndjson = """
+                {"name":"Drill","description":"Cordless drill","available":true}
+                {"name":"Saw",
+
+                {"name":"Hammer","description":"Claw hammer","available":true}
+                """;
+
+        List<JsonNode> events = importItems(owner, "application/x-ndjson", ndjson);
+
+        JsonNode error = events.get(0);
+        assertEquals("ERROR", error.get("type").asText());
+        assertEquals(2, error.get("row").asLong());
+        JsonNode summary = events.get(events.size() - 1);
+        assertEquals(3, summary.get("rowsRead").asLong());
+        assertEquals(2, summary.get("imported").asLong());
+        assertEquals(1, summary.get("failed").asLong());
+        assertEquals(2, itemRepository.findByOwnerIdOrderById(owner.getId()).size());
+    }
+
+    @Test
+    void ndjsonNonObjectLinesAreRejectedRows() throws Exception {
+        User owner = fixtures.createUser();
+        String ndjson = """
+                {"name":"Drill","description":"Cordless drill","available":true}
+                null
+                [1, 2]
+                {"name":"Hammer","description":"Claw hammer","available":true}
+                {"name":"Saw","description":"Hand saw","available":true}
+                """;
+
+        List<JsonNode> events = importItems(owner, "application/x-ndjson", ndjson);
+
+        List<JsonNode> errors = events.stream().filter(e -> e.get("type").asText().equals("ERROR")).toList();
+        assertEquals(List.of(2L, 3L), errors.stream().map(e -> e.get("row").asLong()).toList());
+        assertEquals("Expected a JSON object", errors.get(0).get("message").asText());
+        JsonNode summary = events.get(events.size() - 1);
+        assertEquals("SUMMARY", summary.get("type").asText());
+        assertEquals(5, summary.get("rowsRead").asLong());
+        assertEquals(3, summary.get("imported").asLong());
+        assertEquals(2, summary.get("failed").asLong());
+        assertEquals(3, itemRepository.findByOwnerIdOrderById(owner.getId()).size());
+    }
+
+    @Test
+    void ndjsonRowWithForeignIdCreatesNewItem() throws Exception {
+        User victim = fixtures.createUser();
+        Item original = fixtures.createItem(victim);
+        User owner = fixtures.createUser();
+        String ndjson = "{\"id\":" + original.getId() + ",\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":true}\n";
+
+        List<JsonNode> events = importItems(owner, "application/x-ndjson", ndjson);
+
+        assertEquals(1, events.get(events.size() - 1).get("imported").asLong());
+        List<Item> imported = itemRepository.findByOwnerIdOrderById(owner.getId());
+        assertEquals(1, imported.size());
+        assertNotEquals(original.getId(), imported.get(0).getId());
+        Item unchanged = itemRepository.findById(original.getId()).orElseThrow();
+        assertEquals("Drill", unchanged.getName());
+        assertEquals(victim.getId(), unchanged.getOwner().getId());
+    }
+
+    @Test
+    void importRequiresKnownUserAndCsvHeader() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", -1L)
+                        .contentType("text/csv")
+                        .content("name,description,available\n"))
+                .andExpect(status().isNotFound());
+
+        User owner = fixtures.createUser();
+        List<JsonNode> events = importItems(owner, "text/csv", "Drill,Cordless drill,true\n");
+
+        assertEquals("ERROR", events.get(0).get("type").asText());
+        assertEquals(0, events.get(1).get("imported").asLong());
+    }
+
+    private List<JsonNode> importItems(User owner, String contentType, String body) throws Exception {
+        MvcResult started = mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(contentType)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : response.split("\n")) {
+            events.add(objectMapper.readTree(line));
+        }
+        return events;
+    }
+}
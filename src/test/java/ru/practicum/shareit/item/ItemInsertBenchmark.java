@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares insert throughput of one transaction per item (POST /items) with the batched bulk path
+ * (POST /items/batch). Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class ItemInsertBenchmark {
+    private static final int ITEMS = 100_000;
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void insertThroughput() {
+        User singleOwner = fixtures.createUser();
+        long started = System.nanoTime();
+        for (int i = 0; i < ITEMS; i++) {
+            itemService.createItem(newItem(singleOwner, i), singleOwner.getId());
+        }
+        double singleRowsPerSecond = rowsPerSecond(started);
+
+        User batchOwner = fixtures.createUser();
+        started = System.nanoTime();
+        for (int from = 0; from < ITEMS; from += BATCH_SIZE) {
+            itemService.createItems(newItems(batchOwner, from), batchOwner.getId());
+        }
+        double batchRowsPerSecond = rowsPerSecond(started);
+
+        // The same batches without search indexing, i.e. what the INSERTs alone cost
+        User repositoryOwner = fixtures.createUser();
+        started = System.nanoTime();
+        for (int from = 0; from < ITEMS; from += BATCH_SIZE) {
+            List<Item> batch = newItems(repositoryOwner, from);
+            transactionTemplate.executeWithoutResult(status -> itemRepository.saveAll(batch));
+        }
+        double repositoryRowsPerSecond = rowsPerSecond(started);
+
+        assertEquals(ITEMS, itemRepository.findByOwnerIdOrderById(singleOwner.getId()).size());
+        assertEquals(ITEMS, itemRepository.findByOwnerIdOrderById(batchOwner.getId()).size());
+        log.info("{} item inserts: one per transaction {} rows/s, batches of {} {} rows/s, repository only {} rows/s",
+                ITEMS, String.format("%.0f", singleRowsPerSecond), BATCH_SIZE,
+                String.format("%.0f", batchRowsPerSecond), String.format("%.0f", repositoryRowsPerSecond));
+    }
+
+    private double rowsPerSecond(long started) {
+        return ITEMS / ((System.nanoTime() - started) / 1e9);
+    }
+
+    private List<Item> newItems(User owner, int from) {
+        List<Item> items = new ArrayList<>(BATCH_SIZE);
+        for (int i = from; i < from + BATCH_SIZE; i++) {
+            items.add(newItem(owner, i));
+        }
+        return items;
+    }
+
+    private Item newItem(User owner, int i) {
+        return new Item(null, "Item " + i, "Benchmark item number " + i, true, owner, null);
+    }
+}
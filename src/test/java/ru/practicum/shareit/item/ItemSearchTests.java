@@ -0,0 +1,197 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.common.sql.SqlStatementStats;
+import ru.practicum.shareit.common.sql.SqlStatementTracker;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.FuzzyItemSearch;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemSearchIndexer;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ItemSearchTests {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+
+    @Autowired
+    private FuzzyItemSearch fuzzyItemSearch;
+
+    @Autowired
+    private ItemSearchIndexer itemSearchIndexer;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void searchRanksNameMatchesFirstAndMatchesWordPrefixes() {
+        User owner = fixtures.createUser();
+        String word = uniqueWord();
+        Item inDescription = createItem(owner, "Hammer", "Pairs well with " + word + "drill", true);
+        Item inName = createItem(owner, word.toUpperCase() + "drill", "Cordless", true);
+
+        assertEquals(List.of(inName.getId(), inDescription.getId()), search(word, 0, 10));
+        assertEquals(List.of(inName.getId()), search(word + "drill cordless", 0, 10));
+    }
+
+    @Test
+    void searchPagesThroughResults() {
+        User owner = fixtures.createUser();
+        String word = uniqueWord();
+        for (int i = 0; i < 5; i++) {
+            createItem(owner, word + " " + i, "Tool", true);
+        }
+
+        List<Long> all = search(word, 0, 10);
+        assertEquals(5, all.size());
+        assertEquals(all.subList(2, 4), search(word, 2, 2));
+    }
+
+    @Test
+    void searchFollowsCommittedAvailabilityChangesAndDeletes() {
+        User owner = fixtures.createUser();
+        String word = uniqueWord();
+        Item unavailable = createItem(owner, word, "Saw", false);
+        Item available = createItem(owner, word, "Saw", true);
+        assertEquals(List.of(available.getId()), search(word, 0, 10));
+
+        itemService.updateItem(unavailable.getId(), new Item(null, null, null, true, null, null), owner.getId());
+        itemService.updateItem(available.getId(), new Item(null, null, null, false, null, null), owner.getId());
+        assertEquals(List.of(unavailable.getId()), search(word, 0, 10));
+
+        itemService.deleteItem(unavailable.getId());
+        assertTrue(search(word, 0, 10).isEmpty());
+    }
+
+    @Test
+    void deletingOwnerRemovesTheirItemsFromIndexes() {
+        User owner = fixtures.createUser();
+        String word = uniqueWord();
+        Item item = createItem(owner, word, "Saw", true);
+        assertEquals(List.of(item.getId()), itemSearchEngine.search(word, 0, 10));
+        assertEquals(List.of(item.getId()), fuzzyItemSearch.search(word, 0, 10));
+
+        userService.deleteUser(owner.getId());
+
+        assertTrue(itemSearchEngine.search(word, 0, 10).isEmpty());
+        assertTrue(fuzzyItemSearch.search(word, 0, 10).isEmpty());
+    }
+
+    @Test
+    void fuzzySearchToleratesTyposAndTransliteration() {
+        User owner = fixtures.createUser();
+        Item drill = createItem(owner, "Дрель ударная", "Мощная", true);
+        String word = uniqueWord();
+        Item saw = createItem(owner, "Saw", word, true);
+
+        assertTrue(fuzzySearch("drel", 0, 10).contains(drill.getId()));
+        assertTrue(fuzzySearch("дрэль ударнаа", 0, 10).contains(drill.getId()));
+        assertEquals(List.of(saw.getId()), fuzzySearch(word.substring(0, word.length() - 2) + "x", 0, 10));
+    }
+
+    @Test
+    void fuzzySearchCacheIsInvalidatedByAvailabilityChanges() {
+        User owner = fixtures.createUser();
+        String word = uniqueWord();
+        Item item = createItem(owner, word, "Saw", false);
+        assertTrue(fuzzySearch(word, 0, 10).isEmpty());
+
+        itemService.updateItem(item.getId(), new Item(null, null, null, true, null, null), owner.getId());
+        assertEquals(List.of(item.getId()), fuzzySearch(word, 0, 10));
+
+        itemService.updateItem(item.getId(), new Item(null, null, null, false, null, null), owner.getId());
+        assertTrue(fuzzySearch(word, 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchSkipsItemsMadeUnavailableByAnotherInstance() {
+        User owner = fixtures.createUser();
+        String word = uniqueWord();
+        Item item = createItem(owner, word, "Saw", true);
+        assertEquals(List.of(item.getId()), fuzzySearch(word, 0, 10));
+
+        // Committed by another instance, the indexes of this one still hold the item
+        jdbcTemplate.update("UPDATE items SET is_available = false WHERE id = ?", item.getId());
+
+        assertEquals(List.of(item.getId()), fuzzyItemSearch.search(word, 0, 10));
+        assertTrue(fuzzySearch(word, 0, 10).isEmpty());
+        assertTrue(search(word, 0, 10).isEmpty());
+    }
+
+    @Test
+    void rebuildPagesByIdWithoutCountQueries() {
+        User owner = fixtures.createUser();
+        String word = uniqueWord();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            rows.add(new Object[]{word + " " + i, "Saw", i % 2 == 0, owner.getId()});
+        }
+        // Not seen by the indexes until they are rebuilt
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, is_available, owner_id) VALUES (?, ?, ?, ?)", rows);
+        assertTrue(search(word, 0, 10).isEmpty());
+
+        SqlStatementStats stats = SqlStatementTracker.start();
+        try {
+            itemSearchIndexer.rebuild();
+        } finally {
+            SqlStatementTracker.stop();
+        }
+
+        assertEquals(750, itemSearchEngine.search(word, 0, 1000).size());
+        assertEquals(10, fuzzySearch(word, 0, 10).size());
+        assertTrue(stats.getStatementCount() >= 3);
+        stats.getShapeCounts().keySet().forEach(sql -> {
+            assertFalse(sql.toLowerCase().contains("count("), sql);
+            assertFalse(sql.toLowerCase().contains("offset"), sql);
+        });
+    }
+
+    @Test
+    void blankSearchReturnsNothing() {
+        assertTrue(itemService.searchItems(" ", 0, 10).isEmpty());
+    }
+
+    private List<Long> search(String text, int from, int size) {
+        return itemService.searchItems(text, from, size).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    private List<Long> fuzzySearch(String text, int from, int size) {
+        return itemService.fuzzySearchItems(text, from, size).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Item createItem(User owner, String name, String description, boolean available) {
+        return itemService.createItem(new Item(null, name, description, available, owner, null), owner.getId());
+    }
+
+    private String uniqueWord() {
+        return "w" + UUID.randomUUID().toString().replace("-", "");
+    }
+}
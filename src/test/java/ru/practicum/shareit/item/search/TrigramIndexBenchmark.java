@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import ru.practicum.shareit.common.JmhRunner;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * p99 latency of fuzzy lookups against a synthetic catalog. Run with {@code mvn test -Pbenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrigramIndexBenchmark {
+    private static final int VOCABULARY = 50_000;
+    private static final String LETTERS = "abcdefghiklmnoprstuvyz";
+
+    @Param("1000000")
+    public int items;
+
+    private TrigramIndex index;
+    private String[] words;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random seed = new Random(42);
+        words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = word(seed, 4 + seed.nextInt(6));
+        }
+        index = new TrigramIndex(0.3);
+        for (long id = 1; id <= items; id++) {
+            index.index(id, randomWord(seed) + " " + randomWord(seed),
+                    randomWord(seed) + " " + randomWord(seed) + " " + randomWord(seed));
+        }
+        random = new Random(7);
+    }
+
+    @Benchmark
+    public List<Long> exactWord() {
+        return index.search(randomWord(random), 0, 10);
+    }
+
+    @Benchmark
+    public List<Long> misspelledWord() {
+        String word = randomWord(random);
+        int position = random.nextInt(word.length());
+        return index.search(word.substring(0, position) + "x" + word.substring(position + 1), 0, 10);
+    }
+
+    @Benchmark
+    public List<Long> twoWords() {
+        return index.search(randomWord(random) + " " + randomWord(random), 0, 10);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        JmhRunner.run(TrigramIndexBenchmark.class, new OptionsBuilder()
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(5))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(10)));
+    }
+
+    // Zipf-like skew so that some words are much more common than others
+    private String randomWord(Random random) {
+        double skewed = Math.pow(random.nextDouble(), 3);
+        return words[(int) (skewed * VOCABULARY)];
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return word.toString();
+    }
+}
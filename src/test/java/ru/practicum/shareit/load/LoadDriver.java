@@ -0,0 +1,211 @@
+package ru.practicum.shareit.load;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Closed-loop HTTP load: every thread picks an operation by weight, sends it, waits for the response
+ * and repeats until the time is up. Latencies are kept per thread and operation, so threads never
+ * contend while measuring, and are merged into {@link Result}s at the end.
+ */
+public class LoadDriver {
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final URI baseUri;
+    private final int threads;
+    private final List<Operation> operations = new ArrayList<>();
+    private int totalWeight;
+
+    public LoadDriver(URI baseUri, int threads) {
+        this.baseUri = baseUri;
+        this.threads = threads;
+    }
+
+    /**
+     * Adds an operation sent with the given relative frequency, the factory builds each request from
+     * the base URI and the thread's random generator.
+     */
+    public LoadDriver operation(String name, int weight, BiFunction<URI, Random, HttpRequest> factory) {
+        operations.add(new Operation(name, weight, factory));
+        totalWeight += weight;
+        return this;
+    }
+
+    public Map<String, Result> run(Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Recorder>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            futures.add(executor.submit(() -> drive(new Random(seed), deadline)));
+        }
+        executor.shutdown();
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        List<Recorder> recorders = new ArrayList<>();
+        for (Future<Recorder> future : futures) {
+            recorders.add(future.get());
+        }
+        for (int o = 0; o < operations.size(); o++) {
+            results.put(operations.get(o).name, Result.of(recorders, o, duration));
+        }
+        return results;
+    }
+
+    /**
+     * Keeps {@code clients} requests in flight from a few threads: every client sends its next request
+     * once the previous one completed. Meant for concurrencies far beyond one thread per client.
+     */
+    public Map<String, Result> runAsync(Duration duration, int clients) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        Recorder recorder = new Recorder(operations.size());
+        CountDownLatch finished = new CountDownLatch(clients);
+        ExecutorService callbacks = Executors.newFixedThreadPool(2);
+        for (int c = 0; c < clients; c++) {
+            sendAsync(new Random(c), recorder, deadline, finished, callbacks);
+        }
+        finished.await();
+        callbacks.shutdown();
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (int o = 0; o < operations.size(); o++) {
+            results.put(operations.get(o).name, Result.of(List.of(recorder), o, duration));
+        }
+        return results;
+    }
+
+    private void sendAsync(Random random, Recorder recorder, long deadline, CountDownLatch finished,
+                           ExecutorService callbacks) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        int o = pick(random);
+        HttpRequest request = operations.get(o).factory.apply(baseUri, random);
+        long started = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenCompleteAsync((response, failure) -> {
+            synchronized (recorder) {
+                recorder.record(o, System.nanoTime() - started, failure != null ? -1 : response.statusCode());
+            }
+            sendAsync(random, recorder, deadline, finished, callbacks);
+        }, callbacks);
+    }
+
+    private Recorder drive(Random random, long deadline) throws InterruptedException {
+        Recorder recorder = new Recorder(operations.size());
+        while (System.nanoTime() < deadline) {
+            int o = pick(random);
+            HttpRequest request = operations.get(o).factory.apply(baseUri, random);
+            long started = System.nanoTime();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException e) {
+                status = -1;
+            }
+            recorder.record(o, System.nanoTime() - started, status);
+        }
+        return recorder;
+    }
+
+    private int pick(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (int o = 0; o < operations.size(); o++) {
+            roll -= operations.get(o).weight;
+            if (roll < 0) {
+                return o;
+            }
+        }
+        throw new IllegalStateException("No operations");
+    }
+
+    @AllArgsConstructor
+    private static class Operation {
+        private final String name;
+        private final int weight;
+        private final BiFunction<URI, Random, HttpRequest> factory;
+    }
+
+    private static class Recorder {
+        private final long[][] latencies;
+        private final int[] counts;
+        private final int[] clientErrors;
+        private final int[] serverErrors;
+
+        Recorder(int operations) {
+            latencies = new long[operations][1024];
+            counts = new int[operations];
+            clientErrors = new int[operations];
+            serverErrors = new int[operations];
+        }
+
+        void record(int operation, long nanos, int status) {
+            if (counts[operation] == latencies[operation].length) {
+                latencies[operation] = Arrays.copyOf(latencies[operation], counts[operation] * 2);
+            }
+            latencies[operation][counts[operation]++] = nanos;
+            if (status >= 400 && status < 500) {
+                clientErrors[operation]++;
+            } else if (status >= 500 || status < 0) {
+                serverErrors[operation]++;
+            }
+        }
+    }
+
+    /**
+     * Requests sent for one operation, its throughput and latency percentiles in milliseconds.
+     * 4xx answers (e.g. a booking conflict) are counted apart from 5xx and connection failures.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final int requests;
+        private final int clientErrors;
+        private final int serverErrors;
+        private final double perSecond;
+        private final double p50;
+        private final double p99;
+        private final double max;
+
+        static Result of(List<Recorder> recorders, int operation, Duration duration) {
+            int requests = recorders.stream().mapToInt(r -> r.counts[operation]).sum();
+            long[] all = new long[requests];
+            int position = 0;
+            int clientErrors = 0;
+            int serverErrors = 0;
+            for (Recorder recorder : recorders) {
+                System.arraycopy(recorder.latencies[operation], 0, all, position, recorder.counts[operation]);
+                position += recorder.counts[operation];
+                clientErrors += recorder.clientErrors[operation];
+                serverErrors += recorder.serverErrors[operation];
+            }
+            Arrays.sort(all);
+            return new Result(requests, clientErrors, serverErrors, requests / (duration.toNanos() / 1e9),
+                    percentile(all, 0.5), percentile(all, 0.99), requests > 0 ? all[requests - 1] / 1e6 : 0);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[(int) Math.ceil(quantile * sorted.length) - 1] / 1e6;
+        }
+    }
+}
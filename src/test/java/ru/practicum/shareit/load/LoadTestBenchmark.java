@@ -0,0 +1,137 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays a mixed read/write workload against the REST API of an application seeded by the
+ * DataSeeder and reports throughput and p50/p99 latency per endpoint, also written to
+ * {@code target/load/LoadTestBenchmark.json}. Runs against its own in-memory H2 database; with
+ * {@code -Dspring.profiles.active=dev} it uses the local PostgreSQL instead. Threads and durations can
+ * be changed with {@code -Dload.threads}, {@code -Dload.warmup-seconds} and {@code -Dload.seconds}.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:shareit_load;DB_CLOSE_DELAY=-1",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.generate_statistics=false",
+    "logging.level.ru.practicum.shareit=WARN",
+    "logging.level.ru.practicum.shareit.seed=INFO",
+    "logging.level.ru.practicum.shareit.load=INFO",
+    "shareit.seed.enabled=true",
+    "shareit.seed.users=2000",
+    "shareit.seed.requests=1000",
+    "shareit.seed.items=10000",
+    "shareit.seed.bookings=100000"
+})
+class LoadTestBenchmark {
+    private static final String[] SEARCH_WORDS = {"drill", "tent", "kayak", "camera", "folding", "portable"};
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"};
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        LoadDriver driver = mixedWorkload(URI.create("http://localhost:" + port), jdbcTemplate,
+                intProperty("load.threads", 16));
+
+        driver.run(Duration.ofSeconds(intProperty("load.warmup-seconds", 10)));
+        Map<String, LoadDriver.Result> results = driver.run(Duration.ofSeconds(intProperty("load.seconds", 30)));
+
+        logResults(results);
+        File report = new File("target/load/LoadTestBenchmark.json");
+        assertTrue(report.getParentFile().isDirectory() || report.getParentFile().mkdirs());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(report, results);
+
+        for (LoadDriver.Result result : results.values()) {
+            assertTrue(result.getRequests() > 0);
+            assertEquals(0, result.getServerErrors());
+        }
+    }
+
+    /**
+     * The workload mix against an application at the base URI whose seeded database the template reads.
+     */
+    static LoadDriver mixedWorkload(URI baseUri, JdbcTemplate jdbcTemplate, int threads) {
+        // Most active owners and bookers first, so skewed picks hit them most often like the seeder did
+        List<Long> owners = jdbcTemplate.queryForList(
+                "SELECT owner_id FROM items GROUP BY owner_id ORDER BY COUNT(*) DESC", Long.class);
+        List<Long> bookers = jdbcTemplate.queryForList(
+                "SELECT booker_id FROM bookings GROUP BY booker_id ORDER BY COUNT(*) DESC", Long.class);
+        List<Long> items = jdbcTemplate.queryForList(
+                "SELECT item_id FROM bookings GROUP BY item_id ORDER BY COUNT(*) DESC", Long.class);
+        LocalDateTime farFuture = LocalDateTime.now().withNano(0).plusYears(5);
+
+        return new LoadDriver(baseUri, threads)
+                .operation("GET /items/{id}", 30, (base, random) -> get(base, "/items/" + pick(items, random),
+                        pick(bookers, random)))
+                .operation("GET /items", 15, (base, random) -> get(base, "/items", pick(owners, random)))
+                .operation("GET /items/search", 15, (base, random) -> get(base, "/items/search?text="
+                        + SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)], pick(bookers, random)))
+                .operation("GET /bookings", 15, (base, random) -> get(base, "/bookings?state="
+                        + STATES[random.nextInt(STATES.length)], pick(bookers, random)))
+                .operation("GET /bookings/owner", 10, (base, random) -> get(base, "/bookings/owner?state="
+                        + STATES[random.nextInt(STATES.length)], pick(owners, random)))
+                .operation("GET /requests/all", 5, (base, random) -> get(base, "/requests/all", pick(bookers, random)))
+                .operation("POST /bookings", 10, (base, random) -> {
+                    LocalDateTime start = farFuture.plusHours(random.nextInt(24 * 365));
+                    String body = "{\"itemId\":" + pick(items, random) + ",\"start\":\"" + start
+                            + "\",\"end\":\"" + start.plusHours(1 + random.nextInt(48)) + "\"}";
+                    return HttpRequest.newBuilder(base.resolve("/bookings"))
+                            .header(USER_HEADER, String.valueOf(pick(bookers, random)))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                });
+    }
+
+    static void logResults(Map<String, LoadDriver.Result> results) {
+        log.info(String.format("%-20s %9s %9s %9s %9s %9s %6s %6s",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "4xx", "5xx"));
+        results.forEach((name, r) -> log.info(String.format("%-20s %9d %9.0f %9.2f %9.2f %9.2f %6d %6d",
+                name, r.getRequests(), r.getPerSecond(), r.getP50(), r.getP99(), r.getMax(),
+                r.getClientErrors(), r.getServerErrors())));
+    }
+
+    private static HttpRequest get(URI base, String path, long userId) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header(USER_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    // Favours the head of the list, which holds the busiest rows
+    private static long pick(List<Long> ids, Random random) {
+        return ids.get((int) (ids.size() * Math.pow(random.nextDouble(), 2)));
+    }
+
+    static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
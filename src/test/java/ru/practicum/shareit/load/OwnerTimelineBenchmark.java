@@ -0,0 +1,108 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the owner timeline queries before and after bookings got their own owner_id: the old shape
+ * joins items to find the owner's bookings, the new one filters and sorts on bookings alone. Both run as
+ * plain SQL on the same seeded dataset, for the first page of the owners with the most bookings, so only
+ * the plans differ. Results are logged and written to {@code target/load/OwnerTimelineBenchmark.json}.
+ * Runs against its own in-memory H2 database, {@code -Dload.postgres=true} uses the local PostgreSQL of
+ * the dev profile. The dataset size can be changed with {@code -Dload.bookings}. Run with
+ * {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+class OwnerTimelineBenchmark {
+    private static final int OWNERS = 20;
+    private static final int WARMUP_RUNS = 20;
+    private static final int MEASURED_RUNS = 200;
+    private static final Map<String, String> STATES = new LinkedHashMap<>();
+
+    static {
+        STATES.put("ALL", "");
+        STATES.put("CURRENT", "AND b.start_date <= CURRENT_TIMESTAMP AND b.end_date >= CURRENT_TIMESTAMP ");
+        STATES.put("PAST", "AND b.end_date < CURRENT_TIMESTAMP ");
+        STATES.put("FUTURE", "AND b.start_date > CURRENT_TIMESTAMP ");
+        STATES.put("WAITING", "AND b.status = 'WAITING' ");
+    }
+
+    @Test
+    void joinAndOwnerColumn() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        try (ConfigurableApplicationContext context = start()) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            List<Long> owners = jdbcTemplate.queryForList("SELECT owner_id FROM bookings GROUP BY owner_id "
+                    + "ORDER BY COUNT(*) DESC LIMIT " + OWNERS, Long.class);
+
+            log.info(String.format("%-8s %12s %12s %8s", "state", "join us/op", "column us/op", "speedup"));
+            STATES.forEach((state, condition) -> {
+                String join = "SELECT b.* FROM bookings b JOIN items i ON i.id = b.item_id WHERE i.owner_id = ? "
+                        + condition + "ORDER BY b.start_date DESC, b.id DESC LIMIT 10";
+                String column = "SELECT b.* FROM bookings b WHERE b.owner_id = ? "
+                        + condition + "ORDER BY b.start_date DESC, b.id DESC LIMIT 10";
+                for (Long owner : owners) {
+                    assertEquals(ids(jdbcTemplate, join, owner), ids(jdbcTemplate, column, owner));
+                }
+
+                double joinMicros = measure(jdbcTemplate, join, owners);
+                double columnMicros = measure(jdbcTemplate, column, owners);
+                log.info(String.format("%-8s %12.1f %12.1f %7.1fx", state, joinMicros, columnMicros,
+                        joinMicros / columnMicros));
+                report.put(state, Map.of("joinMicros", joinMicros, "columnMicros", columnMicros));
+            });
+        }
+
+        File file = new File("target/load/OwnerTimelineBenchmark.json");
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+
+    private static List<Long> ids(JdbcTemplate jdbcTemplate, String sql, Long owner) {
+        return jdbcTemplate.query(sql, (rs, row) -> rs.getLong("id"), owner);
+    }
+
+    private static double measure(JdbcTemplate jdbcTemplate, String sql, List<Long> owners) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            ids(jdbcTemplate, sql, owners.get(i % owners.size()));
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            ids(jdbcTemplate, sql, owners.get(i % owners.size()));
+        }
+        return (System.nanoTime() - started) / 1000.0 / MEASURED_RUNS;
+    }
+
+    private ConfigurableApplicationContext start() {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.ru.practicum.shareit=WARN",
+                "--logging.level.ru.practicum.shareit.seed=INFO",
+                "--logging.level.ru.practicum.shareit.load=INFO",
+                "--shareit.seed.enabled=true",
+                "--shareit.seed.bookings=" + LoadTestBenchmark.intProperty("load.bookings", 500_000)));
+        if (Boolean.getBoolean("load.postgres")) {
+            args.add("--spring.profiles.active=dev");
+        } else {
+            args.add("--spring.datasource.url=jdbc:h2:mem:shareit_owner_timeline;DB_CLOSE_DELAY=-1");
+        }
+        // Arguments rather than default properties, which the test profile would override
+        return new SpringApplicationBuilder(ShareItApp.class).run(args.toArray(String[]::new));
+    }
+}
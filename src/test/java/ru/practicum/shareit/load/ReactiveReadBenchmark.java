@@ -0,0 +1,172 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Sends the booking timeline and item search reads of 5000 concurrent clients first to the blocking
+ * endpoints and then to their reactive counterparts under /reactive, and reports latency together with
+ * the peak number of busy Tomcat threads, live JVM threads (clients included) and JDBC and R2DBC
+ * connections in use or awaited. Results are logged and written to
+ * {@code target/load/ReactiveReadBenchmark.json}. Runs against its own in-memory H2 database, whose
+ * R2DBC driver executes statements on the calling thread, so thread usage is only representative with
+ * {@code -Dload.postgres=true}, which uses the local PostgreSQL of the dev profile. Clients and
+ * durations can be changed with {@code -Dload.clients}, {@code -Dload.warmup-seconds} and
+ * {@code -Dload.seconds}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+class ReactiveReadBenchmark {
+    private static final String[] SEARCH_WORDS = {"drill", "tent", "kayak", "camera", "folding", "portable"};
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING"};
+
+    @Test
+    void blockingAndReactiveReads() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        try (ConfigurableApplicationContext context = start()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI base = URI.create("http://localhost:" + port);
+            List<Long> bookers = context.getBean(JdbcTemplate.class).queryForList(
+                    "SELECT booker_id FROM bookings GROUP BY booker_id ORDER BY COUNT(*) DESC", Long.class);
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+
+            for (String prefix : List.of("", "/reactive")) {
+                String mode = prefix.isEmpty() ? "blocking" : "reactive";
+                LoadDriver driver = new LoadDriver(base, 1)
+                        .operation("GET " + prefix + "/bookings", 1, (uri, random) -> get(uri, prefix
+                                + "/bookings?state=" + STATES[random.nextInt(STATES.length)], pick(bookers, random)))
+                        .operation("GET " + prefix + "/items/search", 1, (uri, random) -> get(uri, prefix
+                                + "/items/search?text=" + SEARCH_WORDS[random.nextInt(SEARCH_WORDS.length)],
+                                pick(bookers, random)));
+                int clients = LoadTestBenchmark.intProperty("load.clients", 5000);
+
+                driver.runAsync(Duration.ofSeconds(LoadTestBenchmark.intProperty("load.warmup-seconds", 10)), clients);
+                PeakUsage usage = new PeakUsage(meterRegistry);
+                Map<String, LoadDriver.Result> results = driver.runAsync(
+                        Duration.ofSeconds(LoadTestBenchmark.intProperty("load.seconds", 30)), clients);
+                Resources resources = usage.stop();
+
+                log.info("{} reads with {} clients:", mode, clients);
+                LoadTestBenchmark.logResults(results);
+                log.info("peak busy Tomcat threads {}, live threads {}, JDBC connections {} active {} pending, "
+                                + "R2DBC connections {} acquired {} pending", resources.getTomcatBusyThreads(),
+                        resources.getLiveThreads(), resources.getJdbcActive(), resources.getJdbcPending(),
+                        resources.getR2dbcAcquired(), resources.getR2dbcPending());
+                report.put(mode, Map.of("results", results, "resources", resources));
+                results.values().forEach(result -> assertTrue(result.getRequests() > 0));
+            }
+        }
+
+        File file = new File("target/load/ReactiveReadBenchmark.json");
+        assertTrue(file.getParentFile().isDirectory() || file.getParentFile().mkdirs());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, report);
+    }
+
+    private ConfigurableApplicationContext start() {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--server.tomcat.mbeanregistry.enabled=true",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.ru.practicum.shareit=WARN",
+                "--logging.level.ru.practicum.shareit.seed=INFO",
+                "--logging.level.ru.practicum.shareit.load=INFO",
+                "--shareit.seed.enabled=true",
+                "--shareit.seed.users=2000",
+                "--shareit.seed.requests=1000",
+                "--shareit.seed.items=10000",
+                "--shareit.seed.bookings=100000"));
+        if (Boolean.getBoolean("load.postgres")) {
+            args.add("--spring.profiles.active=dev");
+        } else {
+            args.add("--spring.datasource.url=jdbc:h2:mem:shareit_reactive;DB_CLOSE_DELAY=-1");
+            args.add("--shareit.reactive.url=r2dbc:h2:mem:///shareit_reactive?options=DB_CLOSE_DELAY=-1");
+        }
+        // Arguments rather than default properties, which the test profile would override
+        return new SpringApplicationBuilder(ShareItApp.class).run(args.toArray(String[]::new));
+    }
+
+    private static HttpRequest get(URI base, String path, long userId) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header("X-Sharer-User-Id", String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    private static long pick(List<Long> ids, Random random) {
+        return ids.get((int) (ids.size() * Math.pow(random.nextDouble(), 2)));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Resources {
+        private final int tomcatBusyThreads;
+        private final int liveThreads;
+        private final int jdbcActive;
+        private final int jdbcPending;
+        private final int r2dbcAcquired;
+        private final int r2dbcPending;
+    }
+
+    // Samples the gauges every 50 ms and keeps the highest values
+    private static class PeakUsage {
+        private final MeterRegistry meterRegistry;
+        private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        private final int[] peaks = new int[6];
+
+        PeakUsage(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+            sampler.scheduleAtFixedRate(this::sample, 0, 50, TimeUnit.MILLISECONDS);
+        }
+
+        private synchronized void sample() {
+            double[] values = {
+                gauge("tomcat.threads.busy", null), gauge("jvm.threads.live", null),
+                gauge("hikaricp.connections.active", null), gauge("hikaricp.connections.pending", null),
+                gauge("shareit.r2dbc.connections", "acquired"), gauge("shareit.r2dbc.connections", "pending")
+            };
+            for (int i = 0; i < peaks.length; i++) {
+                peaks[i] = Math.max(peaks[i], (int) values[i]);
+            }
+        }
+
+        private double gauge(String name, String state) {
+            Gauge gauge = state != null
+                    ? meterRegistry.find(name).tag("state", state).gauge()
+                    : meterRegistry.find(name).gauge();
+            return gauge != null ? gauge.value() : 0;
+        }
+
+        Resources stop() throws InterruptedException {
+            sampler.shutdown();
+            sampler.awaitTermination(1, TimeUnit.SECONDS);
+            synchronized (this) {
+                return new Resources(peaks[0], peaks[1], peaks[2], peaks[3], peaks[4], peaks[5]);
+            }
+        }
+    }
+}
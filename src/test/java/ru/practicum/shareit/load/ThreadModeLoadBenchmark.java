@@ -0,0 +1,77 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+
+import java.io.File;
+import java.net.URI;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the {@link LoadTestBenchmark} workload with many more clients than Tomcat has platform threads,
+ * once on platform threads and once on virtual threads behind the request bulkhead, against the same
+ * seeded dataset and connection pool. Results of both modes are logged and written to
+ * {@code target/load/ThreadModeLoadBenchmark.json}; 5xx responses in virtual mode are requests the
+ * bulkhead turned away. Clients and durations can be changed with {@code -Dload.threads},
+ * {@code -Dload.warmup-seconds} and {@code -Dload.seconds}. Run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+class ThreadModeLoadBenchmark {
+
+    @Test
+    void platformAndVirtualThreads() throws Exception {
+        Map<String, Map<String, LoadDriver.Result>> results = new LinkedHashMap<>();
+        results.put("platform", run(false));
+        results.put("virtual", run(true));
+
+        File report = new File("target/load/ThreadModeLoadBenchmark.json");
+        assertTrue(report.getParentFile().isDirectory() || report.getParentFile().mkdirs());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(report, results);
+
+        for (Map<String, LoadDriver.Result> mode : results.values()) {
+            for (LoadDriver.Result result : mode.values()) {
+                assertTrue(result.getRequests() > 0);
+            }
+        }
+    }
+
+    private Map<String, LoadDriver.Result> run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        // Arguments rather than default properties, which the test profile would override
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class).run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--spring.datasource.url=jdbc:h2:mem:shareit_load_" + mode + ";DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.generate_statistics=false",
+                "--logging.level.ru.practicum.shareit=WARN",
+                "--logging.level.ru.practicum.shareit.seed=INFO",
+                "--logging.level.ru.practicum.shareit.load=INFO",
+                "--shareit.seed.enabled=true",
+                "--shareit.seed.users=2000",
+                "--shareit.seed.requests=1000",
+                "--shareit.seed.items=10000",
+                "--shareit.seed.bookings=100000")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadDriver driver = LoadTestBenchmark.mixedWorkload(URI.create("http://localhost:" + port),
+                    context.getBean(JdbcTemplate.class), LoadTestBenchmark.intProperty("load.threads", 400));
+
+            driver.run(Duration.ofSeconds(LoadTestBenchmark.intProperty("load.warmup-seconds", 10)));
+            Map<String, LoadDriver.Result> results = driver.run(
+                    Duration.ofSeconds(LoadTestBenchmark.intProperty("load.seconds", 30)));
+            log.info("{} threads:", mode);
+            LoadTestBenchmark.logResults(results);
+            return results;
+        }
+    }
+}
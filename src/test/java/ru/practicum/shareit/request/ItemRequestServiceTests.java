@@ -0,0 +1,99 @@
+package ru.practicum.shareit.request;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ItemRequestServiceTests {
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void getUserRequestsUsesConstantNumberOfQueries() {
+        User owner = fixtures.createUser();
+        User fewRequestsUser = fixtures.createUser();
+        User manyRequestsUser = fixtures.createUser();
+        createRequestsWithItems(fewRequestsUser, owner, 2);
+        createRequestsWithItems(manyRequestsUser, owner, 20);
+
+        long fewRequestsQueries = countStatements(() -> itemRequestService.getUserRequests(fewRequestsUser.getId()));
+        long manyRequestsQueries = countStatements(() -> itemRequestService.getUserRequests(manyRequestsUser.getId()));
+
+        assertTrue(fewRequestsQueries > 0);
+        assertEquals(fewRequestsQueries, manyRequestsQueries);
+    }
+
+    @Test
+    void getAllRequestsUsesConstantNumberOfQueries() {
+        User owner = fixtures.createUser();
+        User requestor = fixtures.createUser();
+        User viewer = fixtures.createUser();
+        createRequestsWithItems(requestor, owner, 20);
+
+        long smallPageQueries = countStatements(() -> itemRequestService.getAllRequests(viewer.getId(), 0, 2));
+        long largePageQueries = countStatements(() -> itemRequestService.getAllRequests(viewer.getId(), 0, 20));
+
+        assertEquals(smallPageQueries, largePageQueries);
+    }
+
+    @Test
+    void getUserRequestsGroupsItemsByRequest() {
+        User owner = fixtures.createUser();
+        User requestor = fixtures.createUser();
+        createRequestsWithItems(requestor, owner, 3);
+        ItemRequest emptyRequest = createRequest(requestor);
+
+        List<ItemRequest> requests = itemRequestService.getUserRequests(requestor.getId());
+
+        assertEquals(4, requests.size());
+        requests.forEach(request -> {
+            int expectedItems = request.equals(emptyRequest) ? 0 : 2;
+            assertEquals(expectedItems, request.getItems().size());
+            request.getItems().forEach(item -> assertEquals(request.getId(), item.getRequest().getId()));
+        });
+    }
+
+    // Runs the action once to warm caches, then counts statements of the second run
+    private long countStatements(Runnable action) {
+        action.run();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createRequestsWithItems(User requestor, User owner, int requestCount) {
+        for (int i = 0; i < requestCount; i++) {
+            ItemRequest request = createRequest(requestor);
+            fixtures.createItem(owner, "Drill", "Cordless drill", request);
+            fixtures.createItem(owner, "Saw", "Circular saw", request);
+        }
+    }
+
+    private ItemRequest createRequest(User requestor) {
+        return itemRequestRepository.save(
+                new ItemRequest(null, "Need a tool", requestor, LocalDateTime.now(), null));
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void usersArePagedById() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            fixtures.createUser();
+        }
+        List<Long> all = userIds(mockMvc.perform(get("/users").param("size", "1000"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        List<Long> page = userIds(mockMvc.perform(get("/users").param("from", "2").param("size", "2"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertEquals(all.subList(2, 4), page);
+    }
+
+    @Test
+    void pageIsReadWithoutCountQuery() throws Exception {
+        fixtures.createUser();
+        fixtures.createUser();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get("/users").param("size", "1"))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void pageSizeIsCapped() throws Exception {
+        mockMvc.perform(get("/users").param("size", String.valueOf(UserController.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportStreamsEveryUserAsNdjson() throws Exception {
+        List<User> created = List.of(fixtures.createUser(), fixtures.createUser(), fixtures.createUser());
+
+        MvcResult started = mockMvc.perform(get("/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(UserController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<Long> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            exported.add(objectMapper.readTree(line).get("id").asLong());
+        }
+        assertEquals(userRepository.count(), exported.size());
+        for (User user : created) {
+            assertTrue(exported.contains(user.getId()));
+        }
+    }
+
+    private List<Long> userIds(MvcResult result) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode node : objectMapper.readTree(result.getResponse().getContentAsString())) {
+            ids.add(node.get("id").asLong());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.TestFixtures;
+import ru.practicum.shareit.common.cache.EntityCacheConfig;
+import ru.practicum.shareit.exception.UserNotFoundException;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class UserServiceTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void getUserByIdIsServedFromEntityCacheAsSeparateInstances() {
+        User user = fixtures.createUser();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        double hitsBefore = cacheGets("hit");
+
+        userService.getUserById(user.getId());
+        statistics.clear();
+        User first = userService.getUserById(user.getId());
+        User second = userService.getUserById(user.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertTrue(cacheGets("hit") >= hitsBefore + 2);
+        // Callers may attach or change the user, they must not share one instance
+        assertNotSame(first, second);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void updateUserEvictsCachedUser() {
+        User user = fixtures.createUser();
+        userService.getUserById(user.getId());
+
+        userService.updateUser(user.getId(), new User(null, "Updated", null));
+
+        assertEquals("Updated", userService.getUserById(user.getId()).getName());
+    }
+
+    @Test
+    void readDuringUpdateDoesNotCacheTheOldUser() {
+        User user = fixtures.createUser();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.updateUser(user.getId(), new User(null, "Updated", null));
+            // Another request reads the committed row and caches it while the update is still open
+            assertEquals(user.getName(),
+                    CompletableFuture.supplyAsync(() -> userService.getUserById(user.getId()).getName()).join());
+        });
+
+        assertEquals("Updated", userService.getUserById(user.getId()).getName());
+    }
+
+    @Test
+    void deleteUserEvictsCachedUser() {
+        User user = fixtures.createUser();
+        userService.getUserById(user.getId());
+
+        userService.deleteUser(user.getId());
+
+        assertThrows(UserNotFoundException.class, () -> userService.getUserById(user.getId()));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", EntityCacheConfig.USERS_REGION)
+                .tag("cache.manager", "hibernate")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}